@@ -0,0 +1,100 @@
+package com.demo.emailservice;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends emails in groups of {@code email.batch-size}. Each group is handed to
+ * {@link JavaMailSender#send(SimpleMailMessage...)}, which delivers the whole group over a single SMTP
+ * connection. The result holds one status per email, in request order. Each group is observed as
+ * {@code email.smtp.send}, tagged with outcome failed if any of its emails failed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchEmailService implements EmailSender {
+
+    private final JavaMailSender javaMailSender;
+    private final ObservationRegistry observationRegistry;
+
+    private int batchSize;
+
+    @Value("${email.batch-size:50}")
+    void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("email.batch-size must be at least 1 but is " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void sendMail(EmailDto email) {
+        sendMails(List.of(email));
+    }
+
+    public List<EmailStatusDto> sendMails(List<EmailDto> emails) {
+        final List<EmailStatusDto> statuses = new ArrayList<>(emails.size());
+        for (int from = 0; from < emails.size(); from += batchSize) {
+            statuses.addAll(sendBatch(emails.subList(from, Math.min(from + batchSize, emails.size()))));
+        }
+        return statuses;
+    }
+
+    private List<EmailStatusDto> sendBatch(List<EmailDto> emails) {
+        final SimpleMailMessage[] messages = emails.stream().map(this::toMessage).toArray(SimpleMailMessage[]::new);
+
+        Map<Object, Exception> failedMessages = Map.of();
+        Exception batchFailure = null;
+        final Observation observation = Observation.createNotStarted("email.smtp.send", observationRegistry)
+                .highCardinalityKeyValue("email.count", String.valueOf(messages.length))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            javaMailSender.send(messages);
+        } catch (MailSendException exception) {
+            failedMessages = exception.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                batchFailure = exception;
+            }
+        } catch (Exception exception) {
+            batchFailure = exception;
+        }
+
+        final List<EmailStatusDto> statuses = new ArrayList<>(messages.length);
+        for (SimpleMailMessage message : messages) {
+            final String emailTo = message.getTo()[0];
+            final Exception failure = batchFailure != null ? batchFailure : failedMessages.get(message);
+            if (failure == null) {
+                statuses.add(new EmailStatusDto(emailTo, EmailStatusDto.Status.SENT, null));
+            } else {
+                log.error("Email could not be sent to email address {}", emailTo, failure);
+                statuses.add(new EmailStatusDto(emailTo, EmailStatusDto.Status.FAILED, failure.getMessage()));
+            }
+        }
+
+        final long failed = statuses.stream().filter(status -> status.getStatus() == EmailStatusDto.Status.FAILED).count();
+        observation.lowCardinalityKeyValue("outcome", failed == 0 ? "sent" : "failed").stop();
+        log.info("Sent batch of {} emails, {} failed", messages.length, failed);
+        return statuses;
+    }
+
+    private SimpleMailMessage toMessage(EmailDto email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(email.getEmailFrom());
+        message.setTo(email.getEmailTo());
+        message.setSubject(email.getSubject());
+        message.setText(email.getText());
+        return message;
+    }
+
+}
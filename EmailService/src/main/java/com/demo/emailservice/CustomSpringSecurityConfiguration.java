@@ -1,21 +1,36 @@
 package com.demo.emailservice;
 
+import com.demo.servicecommon.CachingAuthenticationManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.time.Duration;
 
 @Configuration
 public class CustomSpringSecurityConfiguration {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationConfiguration authenticationConfiguration,
+                                           @Value("${email.authentication-cache.ttl:PT1M}") Duration ttl,
+                                           @Value("${email.authentication-cache.maximum-size:1000}") long maximumSize,
+                                           @Value("${email.service-token.secret:}") String serviceTokenSecret)
+            throws Exception {
 
         http.csrf(AbstractHttpConfigurer::disable).
                 authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
-                .httpBasic(Customizer.withDefaults());
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(new CachingAuthenticationManager(
+                        authenticationConfiguration.getAuthenticationManager(), ttl, maximumSize));
+        if (!serviceTokenSecret.isEmpty()) {
+            http.addFilterBefore(new ServiceTokenAuthenticationFilter(serviceTokenSecret), BasicAuthenticationFilter.class);
+        }
 
         return http.build();
     }
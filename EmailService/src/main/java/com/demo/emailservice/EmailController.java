@@ -1,21 +1,48 @@
 package com.demo.emailservice;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @AllArgsConstructor
 @RequestMapping("/api/email")
 public class EmailController {
     private SimpleEmailService simpleEmailService;
+    private BatchEmailService batchEmailService;
+    private EmailQueue emailQueue;
 
     @PostMapping("/simple/send")
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public void sendTextEmail(@Valid @RequestBody EmailDto emailDto) {
-        simpleEmailService.sendMail(emailDto);
+        emailQueue.submit(() -> {
+            simpleEmailService.sendMail(emailDto);
+            return null;
+        });
+    }
+
+    @PostMapping("/batch/send")
+    public CompletableFuture<List<EmailStatusDto>> sendTextEmails(@NotEmpty @RequestBody List<@Valid EmailDto> emailDtos) {
+        return emailQueue.submit(() -> batchEmailService.sendMails(emailDtos));
+    }
+
+    @ExceptionHandler(EmailQueueFullException.class)
+    public ResponseEntity<String> handleEmailQueueFullException(EmailQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
     }
 
 }
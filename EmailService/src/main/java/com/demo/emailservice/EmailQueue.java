@@ -0,0 +1,82 @@
+package com.demo.emailservice;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded queue in front of a fixed pool of workers that talk to the SMTP server, so a slow mail relay
+ * never blocks request threads. When the queue is full, new work is rejected with
+ * {@link EmailQueueFullException} instead of piling up.
+ * <p>
+ * The workers stay platform threads even when {@code spring.threads.virtual.enabled} is set: Jakarta Mail
+ * does its SMTP I/O inside {@code synchronized} blocks, which would pin virtual carrier threads.
+ * Tasks run with the observation context of the caller, so their spans belong to the trace of the request.
+ */
+@Slf4j
+@Component
+public class EmailQueue implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService contextExecutor;
+    private final Timer waitTimer;
+    private final Timer sendTimer;
+
+    public EmailQueue(@Value("${email.queue.capacity:1000}") int capacity,
+                      @Value("${email.queue.workers:4}") int workers,
+                      MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), new CustomizableThreadFactory("email-sender-"));
+        final ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+        this.contextExecutor = ContextExecutorService.wrap(executor, snapshotFactory::captureAll);
+
+        Gauge.builder("email.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Number of email tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("email.queue.capacity", executor, pool -> capacity)
+                .description("Maximum number of email tasks that can wait for a worker")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("email.queue.wait")
+                .description("Time an email task spends in the queue before a worker picks it up")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("email.send")
+                .description("Time a worker spends delivering an email task to the SMTP server")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        final long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return sendTimer.record(task);
+            }, contextExecutor);
+        } catch (RejectedExecutionException exception) {
+            throw new EmailQueueFullException("Email queue is full, try again later");
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("{} queued email tasks were dropped on shutdown", executor.shutdownNow().size());
+        }
+    }
+
+}
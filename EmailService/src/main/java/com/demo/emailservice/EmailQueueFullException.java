@@ -0,0 +1,7 @@
+package com.demo.emailservice;
+
+public class EmailQueueFullException extends RuntimeException {
+    public EmailQueueFullException(String message) {
+        super(message);
+    }
+}
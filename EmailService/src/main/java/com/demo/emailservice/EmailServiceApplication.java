@@ -2,8 +2,10 @@ package com.demo.emailservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(EmailServiceRuntimeHints.class)
 public class EmailServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,18 @@
+package com.demo.emailservice;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Binding hints for the request and response bodies, so a native image keeps the accessors and constructors
+ * Lombok generates for them even where they only appear inside a {@code CompletableFuture} or a list.
+ */
+public class EmailServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                EmailDto.class, EmailStatusDto.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.demo.emailservice;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Authenticates internal callers of {@code /api/email/**} by a token signed with a secret shared with them, sent as
+ * {@code Authorization: Bearer <issuer>.<expires-at-epoch-seconds>.<base64url HMAC-SHA256 of "issuer.expires-at">}.
+ * Checking a token costs one HMAC, and a verified token is remembered until it expires, so internal traffic does
+ * not go through the password encoder. Requests without a Bearer token fall through to HTTP Basic.
+ */
+public class ServiceTokenAuthenticationFilter extends OncePerRequestFilter {
+    static final String ALGORITHM = "HmacSHA256";
+    private static final String BEARER = "Bearer ";
+
+    private final RequestMatcher requestMatcher = AntPathRequestMatcher.antMatcher("/api/email/**");
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10)).maximumSize(100).build();
+    private final SecretKeySpec key;
+
+    public ServiceTokenAuthenticationFilter(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !requestMatcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final String token = header.substring(BEARER.length()).trim();
+        VerifiedToken verified = verifiedTokens.getIfPresent(token);
+        if (verified == null) {
+            verified = verify(token);
+            if (verified != null) {
+                verifiedTokens.put(token, verified);
+            }
+        }
+        if (verified == null || !verified.expiresAt().isAfter(Instant.now())) {
+            SecurityContextHolder.clearContext();
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        final SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(verified.issuer(), null,
+                AuthorityUtils.createAuthorityList("ROLE_SERVICE")));
+        SecurityContextHolder.setContext(context);
+        securityContextRepository.saveContext(context, request, response);
+        filterChain.doFilter(request, response);
+    }
+
+    private VerifiedToken verify(String token) {
+        final String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+
+        try {
+            final byte[] signature = Base64.getUrlDecoder().decode(parts[2]);
+            if (!MessageDigest.isEqual(signature, sign(parts[0] + "." + parts[1]))) {
+                return null;
+            }
+            return new VerifiedToken(parts[0], Instant.ofEpochSecond(Long.parseLong(parts[1])));
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    byte[] sign(String payload) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(ALGORITHM + " is not available", exception);
+        }
+    }
+
+    private record VerifiedToken(String issuer, Instant expiresAt) {
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.demo.emailservice;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.SimpleMailMessage;
@@ -12,10 +14,17 @@ import org.springframework.stereotype.Service;
 public class SimpleEmailService implements EmailSender {
 
     private final JavaMailSender javaMailSender;
+    private final ObservationRegistry observationRegistry;
 
+    /**
+     * Delivers one email and observes the SMTP round trip as {@code email.smtp.send}, a timer tagged with outcome
+     * sent or failed and a span in the trace of the request.
+     */
     @Override
     public void sendMail(EmailDto email) {
-        try {
+        final Observation observation = Observation.start("email.smtp.send", observationRegistry);
+        String outcome = "failed";
+        try (Observation.Scope scope = observation.openScope()) {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(email.getEmailFrom());
             message.setTo(email.getEmailTo());
@@ -23,10 +32,13 @@ public class SimpleEmailService implements EmailSender {
             message.setText(email.getText());
 
             javaMailSender.send(message);
+            outcome = "sent";
 
             log.info("Welcome email was sent to email address {}", email.getEmailTo());
         } catch (Exception exception) {
             log.error("Welcome email could not be sent to email address {}", email.getEmailTo(), exception);
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
         }
     }
 
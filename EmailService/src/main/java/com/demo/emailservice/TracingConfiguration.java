@@ -0,0 +1,28 @@
+package com.demo.emailservice;
+
+import com.demo.servicecommon.FileSpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Spans are handed to every {@link io.opentelemetry.sdk.trace.export.SpanExporter} bean. Setting
+ * {@code email.span-file} adds one that writes them to a local file; an OTLP exporter or an in-memory one
+ * in tests plugs in the same way.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    @ConditionalOnProperty("email.span-file")
+    public FileSpanExporter fileSpanExporter(@Value("${email.span-file}") Path spanFile, ObjectMapper objectMapper)
+            throws IOException {
+        return new FileSpanExporter(spanFile, objectMapper);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.demo.emailservice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BatchEmailServiceTest {
+
+    @Mock
+    private JavaMailSender javaMailSender;
+
+    @InjectMocks
+    private BatchEmailService batchEmailService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batchEmailService, "batchSize", 2);
+    }
+
+    @Test
+    void sendMails_GroupsMessagesIntoBatches() {
+        List<EmailStatusDto> statuses = batchEmailService.sendMails(List.of(email("a@demo.com"),
+                email("b@demo.com"), email("c@demo.com")));
+
+        verify(javaMailSender, times(2)).send(any(SimpleMailMessage[].class));
+        assertEquals(3, statuses.size());
+        statuses.forEach(status -> assertEquals(EmailStatusDto.Status.SENT, status.getStatus()));
+    }
+
+    @Test
+    void sendMails_ReportsPartialFailure() {
+        doAnswer(invocation -> {
+            SimpleMailMessage failed = invocation.getArgument(1);
+            throw new MailSendException(Map.of(failed, new RuntimeException("Mailbox unavailable")));
+        }).when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        List<EmailStatusDto> statuses = batchEmailService.sendMails(List.of(email("a@demo.com"), email("b@demo.com")));
+
+        assertEquals(EmailStatusDto.Status.SENT, statuses.get(0).getStatus());
+        assertEquals(EmailStatusDto.Status.FAILED, statuses.get(1).getStatus());
+        assertEquals("b@demo.com", statuses.get(1).getEmailTo());
+        assertEquals("Mailbox unavailable", statuses.get(1).getError());
+    }
+
+    @Test
+    void sendMails_ConnectionFailureFailsWholeBatch() {
+        doThrow(new MailSendException("Connection refused")).when(javaMailSender).send(any(SimpleMailMessage[].class));
+
+        List<EmailStatusDto> statuses = batchEmailService.sendMails(List.of(email("a@demo.com"), email("b@demo.com")));
+
+        statuses.forEach(status -> assertEquals(EmailStatusDto.Status.FAILED, status.getStatus()));
+    }
+
+    @Test
+    void setBatchSize_RejectsSizesBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> batchEmailService.setBatchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> batchEmailService.setBatchSize(-1));
+    }
+
+    private EmailDto email(String emailTo) {
+        return new EmailDto("donotreply@demo.com", emailTo, "Welcome", "Hi");
+    }
+}
@@ -0,0 +1,54 @@
+package com.demo.emailservice;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EmailQueueTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmailQueue emailQueue = new EmailQueue(1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        emailQueue.destroy();
+    }
+
+    @Test
+    void submit_RecordsWaitAndSendTime() throws Exception {
+        assertEquals("sent", emailQueue.submit(() -> "sent").get());
+
+        assertEquals(1, meterRegistry.get("email.queue.wait").timer().count());
+        assertEquals(1, meterRegistry.get("email.send").timer().count());
+    }
+
+    @Test
+    void submit_RejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        emailQueue.submit(() -> {
+            workerBusy.countDown();
+            awaitQuietly(release);
+            return null;
+        });
+        workerBusy.await();
+        emailQueue.submit(() -> null);
+
+        assertEquals(1.0, meterRegistry.get("email.queue.depth").gauge().value());
+        assertThrows(EmailQueueFullException.class, () -> emailQueue.submit(() -> null));
+        release.countDown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
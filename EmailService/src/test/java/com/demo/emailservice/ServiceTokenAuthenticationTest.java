@@ -0,0 +1,75 @@
+package com.demo.emailservice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "email.service-token.secret=test-secret")
+@AutoConfigureMockMvc
+class ServiceTokenAuthenticationTest {
+
+    private final ServiceTokenAuthenticationFilter signer = new ServiceTokenAuthenticationFilter("test-secret");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JavaMailSenderImpl javaMailSender;
+
+    @Test
+    void sendTextEmails_ValidToken() throws Exception {
+        MvcResult result = mockMvc.perform(sendTextEmails(token("user-management-service", Instant.now().plusSeconds(60))))
+                .andExpect(status().isOk())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    @Test
+    void sendTextEmails_TamperedToken() throws Exception {
+        String token = token("user-management-service", Instant.now().plusSeconds(60));
+        String tampered = token.replace("user-management-service", "someone-else");
+
+        mockMvc.perform(sendTextEmails(tampered)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void sendTextEmails_ExpiredToken() throws Exception {
+        mockMvc.perform(sendTextEmails(token("user-management-service", Instant.now().minusSeconds(1))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void actuator_TokenIsNotAccepted() throws Exception {
+        mockMvc.perform(get("/actuator/health").header(HttpHeaders.AUTHORIZATION,
+                        "Bearer " + token("user-management-service", Instant.now().plusSeconds(60))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletRequestBuilder sendTextEmails(String token) {
+        return post("/api/email/batch/send")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"emailFrom\": \"from@demo.com\", \"emailTo\": \"alex@demo.com\", \"subject\": \"Welcome\", \"text\": \"Hi\"}]");
+    }
+
+    private String token(String issuer, Instant expiresAt) {
+        String payload = issuer + "." + expiresAt.getEpochSecond();
+        return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signer.sign(payload));
+    }
+}
@@ -0,0 +1,56 @@
+package com.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Calls the /api/email endpoints of EmailService. Every method returns the response, whose body is discarded.
+ */
+final class EmailApiClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+    private final String baseUri;
+    private final String authHeader;
+
+    EmailApiClient(int port, String username, String password) {
+        this.baseUri = "http://localhost:" + port + "/api/email";
+        this.authHeader = "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * POST /simple/send, answered with 202 once the email is queued.
+     */
+    HttpResponse<Void> send(String emailTo) throws IOException, InterruptedException {
+        return send("/simple/send", email(emailTo));
+    }
+
+    /**
+     * POST /batch/send with {@code size} emails, answered once they have been delivered.
+     */
+    HttpResponse<Void> sendBatch(String emailToPrefix, int size) throws IOException, InterruptedException {
+        return send("/batch/send", IntStream.range(0, size)
+                .mapToObj(i -> email(emailToPrefix + "-" + i + "@example.com"))
+                .collect(Collectors.joining(",", "[", "]")));
+    }
+
+    private HttpResponse<Void> send(String path, String body) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(baseUri + path))
+                .header("Authorization", authHeader)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static String email(String emailTo) {
+        return "{\"emailFrom\":\"loadtest@example.com\",\"emailTo\":\"" + emailTo + "\",\"subject\":\"Load test\",\"text\":\"Hello\"}";
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.demo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts an SMTP stub and, once per thread mode and endpoint, EmailService in this JVM, and sends emails with a
+ * fixed number of concurrent clients through {@code POST /api/email/simple/send} and {@code /batch/send}. Each
+ * client sends its next request as soon as the previous one is answered, or after the Retry-After of a 503.
+ * Prints, per thread mode and endpoint, the accepted requests per second and their p50/p99 response times, the
+ * rejected requests per second, the emails the SMTP stub received per second and the peak number of platform
+ * threads in the JVM.
+ *
+ * <pre>
+ * java -cp LoadTest/target/loadtest.jar com.demo.loadtest.EmailThroughputBenchmark [--clients=200] [--warmup=5s]
+ *     [--duration=20s] [--smtp-latency=50ms] [--batch=10] [--tomcat-threads=50]
+ *     [--email-service.&lt;property&gt;=&lt;value&gt;]
+ * </pre>
+ *
+ * The platform mode serves requests from a Tomcat pool of {@code --tomcat-threads} threads, the virtual mode
+ * sets {@code spring.threads.virtual.enabled}. The {@code email-service.} options are passed on to EmailService
+ * in both modes, e.g. {@code --email-service.email.queue.workers=16}.
+ */
+public class EmailThroughputBenchmark {
+
+    private static final String USERNAME = "demo";
+    private static final String PASSWORD = "internal";
+
+    private final Options options;
+    private final EmailApiClient api;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+
+    private EmailThroughputBenchmark(Options options, int port) {
+        this.options = options;
+        this.api = new EmailApiClient(port, USERNAME, PASSWORD);
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Options options = Options.parse(args);
+        final Path emailServiceDirectory = LoadTest.servicesDirectory().resolve("EmailService");
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        System.out.printf("%d clients, %d ms SMTP latency per email, %d emails per batch, %ss per run%n%n",
+                options.clients(), options.smtpLatency().toMillis(), options.batch(), options.duration().toSeconds());
+        System.out.printf("%-9s %-12s %10s %10s %10s %12s %10s %8s %8s%n",
+                "threads", "endpoint", "req/s", "p50 ms", "p99 ms", "rejected/s", "emails/s", "errors", "peak");
+        try (SmtpStub smtp = SmtpStub.start(options.smtpLatency())) {
+            for (boolean virtualThreads : new boolean[]{false, true}) {
+                for (Send send : Send.values()) {
+                    try (InProcessService emailService = InProcessService.start("EmailService", emailServiceDirectory,
+                            "com.demo.emailservice.EmailServiceApplication", options.emailServiceArgs(smtp.port(), virtualThreads))) {
+                        new EmailThroughputBenchmark(options, emailService.port()).run(send, options.warmup());
+
+                        final EmailThroughputBenchmark benchmark = new EmailThroughputBenchmark(options, emailService.port());
+                        final long deliveredBefore = smtp.delivered();
+                        threads.resetPeakThreadCount();
+                        final long start = System.nanoTime();
+                        benchmark.run(send, options.duration());
+                        // the run ends when the last client has its answer, which can be long after the duration
+                        final double seconds = (System.nanoTime() - start) / 1e9;
+                        System.out.printf("%-9s %-12s %10.1f %10.2f %10.2f %12.1f %10.1f %8d %8d%n",
+                                virtualThreads ? "virtual" : "platform", send.path(),
+                                benchmark.latencies.getTotalCount() / seconds,
+                                benchmark.latencies.getValueAtPercentile(50) / 1e6,
+                                benchmark.latencies.getValueAtPercentile(99) / 1e6,
+                                benchmark.rejected.get() / seconds,
+                                (smtp.delivered() - deliveredBefore) / seconds,
+                                benchmark.errors.get(), threads.getPeakThreadCount());
+                    }
+                }
+            }
+        }
+    }
+
+    private void run(Send send, Duration duration) throws InterruptedException {
+        final long end = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.clients(); i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        request(send);
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private void request(Send send) throws InterruptedException {
+        final long n = sent.incrementAndGet();
+        final long start = System.nanoTime();
+        try {
+            final HttpResponse<Void> response = switch (send) {
+                case SIMPLE -> api.send("email-" + n + "@example.com");
+                case BATCH -> api.sendBatch("batch-" + n, options.batch());
+            };
+            if (response.statusCode() == 503) {
+                rejected.incrementAndGet();
+                Thread.sleep(Duration.ofSeconds(response.headers().firstValueAsLong("Retry-After").orElse(1)));
+            } else if (response.statusCode() / 100 == 2) {
+                latencies.recordValue(System.nanoTime() - start);
+            } else {
+                errors.incrementAndGet();
+            }
+        } catch (IOException exception) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private enum Send {
+        SIMPLE("/simple/send"),
+        BATCH("/batch/send");
+
+        private final String path;
+
+        Send(String path) {
+            this.path = path;
+        }
+
+        String path() {
+            return path;
+        }
+    }
+
+    record Options(int clients, Duration warmup, Duration duration, Duration smtpLatency, int batch, int tomcatThreads,
+                   List<String> emailServiceProperties) {
+
+        static Options parse(String[] args) {
+            int clients = 200;
+            Duration warmup = Duration.ofSeconds(5);
+            Duration duration = Duration.ofSeconds(20);
+            Duration smtpLatency = Duration.ofMillis(50);
+            int batch = 10;
+            int tomcatThreads = 50;
+            final List<String> emailServiceProperties = new ArrayList<>();
+
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --option=value but got " + arg);
+                }
+                final String name = arg.substring(2, arg.indexOf('='));
+                final String value = arg.substring(arg.indexOf('=') + 1);
+                if (name.startsWith("email-service.")) {
+                    emailServiceProperties.add("--" + name.substring("email-service.".length()) + "=" + value);
+                } else {
+                    switch (name) {
+                        case "clients" -> clients = Integer.parseInt(value);
+                        case "warmup" -> warmup = LoadTest.Options.duration(value);
+                        case "duration" -> duration = LoadTest.Options.duration(value);
+                        case "smtp-latency" -> smtpLatency = LoadTest.Options.duration(value);
+                        case "batch" -> batch = Integer.parseInt(value);
+                        case "tomcat-threads" -> tomcatThreads = Integer.parseInt(value);
+                        default -> throw new IllegalArgumentException("Unknown option --" + name);
+                    }
+                }
+            }
+            return new Options(clients, warmup, duration, smtpLatency, batch, tomcatThreads, emailServiceProperties);
+        }
+
+        String[] emailServiceArgs(int smtpPort, boolean virtualThreads) {
+            final List<String> args = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--spring.mail.host=localhost",
+                    "--spring.mail.port=" + smtpPort,
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--server.tomcat.threads.max=" + tomcatThreads,
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN"));
+            args.addAll(emailServiceProperties);
+            return args.toArray(String[]::new);
+        }
+    }
+
+}
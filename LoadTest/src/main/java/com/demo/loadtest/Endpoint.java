@@ -0,0 +1,43 @@
+package com.demo.loadtest;
+
+/**
+ * The UserManagementService endpoints of the workload, with their default share of the requests in percent.
+ */
+enum Endpoint {
+    REGISTER("register", "POST /register", 10),
+    GET_USER("get", "GET /{id}", 40),
+    GET_USERS("lookup", "POST / (ids)", 25),
+    UPDATE_USERS("update", "PATCH /update/multiple", 15),
+    DELETE_USERS("delete", "DELETE / (ids)", 10);
+
+    private final String key;
+    private final String label;
+    private final int defaultWeight;
+
+    Endpoint(String key, String label, int defaultWeight) {
+        this.key = key;
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String label() {
+        return label;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Endpoint byKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint " + key + ", expected register, get, lookup, update or delete");
+    }
+}
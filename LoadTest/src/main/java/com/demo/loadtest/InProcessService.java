@@ -0,0 +1,94 @@
+package com.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Spring Boot service started from its unpacked executable jar in a class loader of its own, so that
+ * several services and their {@code application.properties} can share one JVM without seeing each other.
+ */
+final class InProcessService implements AutoCloseable {
+
+    private final String name;
+    private final URLClassLoader classLoader;
+    private final Object context;
+    private final int port;
+
+    private InProcessService(String name, URLClassLoader classLoader, Object context, int port) {
+        this.name = name;
+        this.classLoader = classLoader;
+        this.context = context;
+        this.port = port;
+    }
+
+    /**
+     * Runs {@code mainClass} with {@code args} and returns once the application context is ready.
+     */
+    static InProcessService start(String name, Path directory, String mainClass, String... args) throws Exception {
+        final URLClassLoader classLoader = new URLClassLoader(name, classPath(directory), ClassLoader.getPlatformClassLoader());
+        final Thread thread = Thread.currentThread();
+        final ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            // a JVM accepts a single URL stream handler factory, the second Tomcat would fail to register its own
+            classLoader.loadClass("org.apache.catalina.webresources.TomcatURLStreamHandlerFactory")
+                    .getMethod("disable").invoke(null);
+            final Class<?> springApplication = classLoader.loadClass("org.springframework.boot.SpringApplication");
+            final Object context = springApplication.getMethod("run", Class.class, String[].class)
+                    .invoke(null, classLoader.loadClass(mainClass), args);
+            final Object environment = classLoader.loadClass("org.springframework.context.ConfigurableApplicationContext")
+                    .getMethod("getEnvironment").invoke(context);
+            final String port = (String) classLoader.loadClass("org.springframework.core.env.PropertyResolver")
+                    .getMethod("getProperty", String.class).invoke(environment, "local.server.port");
+            return new InProcessService(name, classLoader, context, Integer.parseInt(port));
+        } catch (Exception exception) {
+            classLoader.close();
+            throw exception;
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    int port() {
+        return port;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            classLoader.loadClass("org.springframework.context.ConfigurableApplicationContext")
+                    .getMethod("close").invoke(context);
+        } finally {
+            classLoader.close();
+        }
+    }
+
+    /**
+     * BOOT-INF/classes followed by the libraries in the order of BOOT-INF/classpath.idx, as the Spring Boot
+     * launcher would load them.
+     */
+    private static URL[] classPath(Path directory) throws IOException {
+        final Path bootInf = directory.resolve("BOOT-INF");
+        final Path index = bootInf.resolve("classpath.idx");
+        if (!Files.exists(index)) {
+            throw new IllegalStateException(directory + " does not contain an unpacked Spring Boot jar, build it with mvn package");
+        }
+        final List<URL> urls = new ArrayList<>();
+        urls.add(bootInf.resolve("classes").toUri().toURL());
+        for (String line : Files.readAllLines(index)) {
+            // - "BOOT-INF/lib/spring-core-6.1.12.jar"
+            urls.add(directory.resolve(line.substring(line.indexOf('"') + 1, line.lastIndexOf('"'))).toUri().toURL());
+        }
+        return urls.toArray(URL[]::new);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.demo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Response times of the successful requests and the number of failed requests, per endpoint.
+ */
+final class LatencyReport {
+
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+
+    LatencyReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(3));
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    void success(Endpoint endpoint, long nanos) {
+        latencies.get(endpoint).recordValue(nanos);
+    }
+
+    void error(Endpoint endpoint) {
+        errors.get(endpoint).incrementAndGet();
+    }
+
+    void print(PrintStream out, Duration duration) {
+        final double seconds = duration.toNanos() / 1e9;
+        final Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        out.printf("%-24s %10s %10s %10s %10s %10s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Endpoint endpoint : Endpoint.values()) {
+            final Histogram histogram = latencies.get(endpoint);
+            final long endpointErrors = errors.get(endpoint).get();
+            total.add(histogram);
+            totalErrors += endpointErrors;
+            print(out, endpoint.label(), histogram, endpointErrors, seconds);
+        }
+        print(out, "total", total, totalErrors, seconds);
+    }
+
+    private static void print(PrintStream out, String label, Histogram histogram, long errors, double seconds) {
+        final long count = histogram.getTotalCount();
+        out.printf("%-24s %10d %10.1f %10.2f %10.2f %10.2f %8d%n", label, count, count / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getMaxValue()), errors);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+}
@@ -0,0 +1,257 @@
+package com.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Starts an SMTP stub, EmailService and UserManagementService in this JVM and drives a mixed workload against
+ * UserManagementService with a fixed number of concurrent clients. Each client sends its next request as soon as
+ * the previous one is answered. Prints the throughput and the p50/p99 response times per endpoint.
+ *
+ * <pre>
+ * java -jar LoadTest/target/loadtest.jar [--clients=50] [--warmup=10s] [--duration=60s] [--users=10000]
+ *     [--batch=20] [--smtp-latency=20ms] [--mix=register:10,get:40,lookup:25,update:15,delete:10]
+ *     [--user-service.&lt;property&gt;=&lt;value&gt;] [--email-service.&lt;property&gt;=&lt;value&gt;]
+ * </pre>
+ *
+ * The {@code user-service.} and {@code email-service.} options are passed on to the respective service, e.g.
+ * {@code --user-service.spring.threads.virtual.enabled=false}.
+ */
+public class LoadTest {
+
+    private static final String USERNAME = "demo";
+    private static final String PASSWORD = "pass";
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final Options options;
+    private final UserApiClient api;
+    private final LatencyReport report = new LatencyReport();
+    private final List<Long> users = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> deletableUsers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong registered = new AtomicLong();
+    private final AtomicLong skippedDeletes = new AtomicLong();
+    private final Endpoint[] mix;
+
+    private LoadTest(Options options, int port) {
+        this.options = options;
+        this.api = new UserApiClient(port, USERNAME, PASSWORD);
+        this.mix = options.mix().entrySet().stream()
+                .flatMap(weight -> IntStream.range(0, weight.getValue()).mapToObj(i -> weight.getKey()))
+                .toArray(Endpoint[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Options options = Options.parse(args);
+        final Path services = servicesDirectory();
+
+        try (SmtpStub smtp = SmtpStub.start(options.smtpLatency());
+             InProcessService emailService = InProcessService.start("EmailService",
+                     services.resolve("EmailService"), "com.demo.emailservice.EmailServiceApplication",
+                     options.emailServiceArgs(smtp.port()));
+             InProcessService userService = InProcessService.start("UserManagementService",
+                     services.resolve("UserManagementService"), "com.demo.usermanagementservice.UserManagementServiceApplication",
+                     options.userServiceArgs(emailService.port()))) {
+
+            final LoadTest loadTest = new LoadTest(options, userService.port());
+            loadTest.seed();
+            System.out.printf("%nwarming up for %ss%n", options.warmup().toSeconds());
+            loadTest.run(options.warmup(), false);
+            System.out.printf("measuring for %ss with %d clients%n%n", options.duration().toSeconds(), options.clients());
+            loadTest.run(options.duration(), true);
+
+            loadTest.report.print(System.out, options.duration());
+            if (loadTest.skippedDeletes.get() > 0) {
+                System.out.printf("%d deletes skipped, no registered users were left to delete%n", loadTest.skippedDeletes.get());
+            }
+            System.out.printf("%d welcome emails delivered to the SMTP stub%n", smtp.delivered());
+        }
+    }
+
+    /**
+     * Registers {@code users} users that are read and renamed, and as many again that the deletes consume.
+     */
+    private void seed() throws Exception {
+        System.out.printf("registering %d users%n", 2 * options.users());
+        for (int first = 0; first < 2 * options.users(); first += SEED_BATCH_SIZE) {
+            final List<String> emails = IntStream.range(first, Math.min(first + SEED_BATCH_SIZE, 2 * options.users()))
+                    .mapToObj(i -> "seed-" + i + "@example.com")
+                    .toList();
+            final List<Long> ids = api.registerAll(emails);
+            ids.forEach(id -> (users.size() < options.users() ? users : deletableUsers).add(id));
+        }
+    }
+
+    private void run(Duration duration, boolean measured) throws InterruptedException {
+        final long end = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.clients(); i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        request(mix[ThreadLocalRandom.current().nextInt(mix.length)], measured);
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private void request(Endpoint endpoint, boolean measured) throws InterruptedException {
+        final List<Long> deleted = endpoint == Endpoint.DELETE_USERS ? takeDeletableUsers() : List.of();
+        if (endpoint == Endpoint.DELETE_USERS && deleted.isEmpty()) {
+            skippedDeletes.incrementAndGet();
+            return;
+        }
+
+        final long start = System.nanoTime();
+        boolean success;
+        try {
+            success = switch (endpoint) {
+                case REGISTER -> {
+                    final long n = registered.incrementAndGet();
+                    deletableUsers.add(api.register("Load User " + n, "load-" + n + "@example.com"));
+                    yield true;
+                }
+                case GET_USER -> api.getUser(randomUser()) == 200;
+                case GET_USERS -> api.getUsers(randomUsers()) == 200;
+                case UPDATE_USERS -> api.updateUsers(randomUsers(), "Renamed " + start) == 204;
+                case DELETE_USERS -> api.deleteUsers(deleted) == 204;
+            };
+        } catch (IOException exception) {
+            success = false;
+        }
+
+        if (measured) {
+            if (success) {
+                report.success(endpoint, System.nanoTime() - start);
+            } else {
+                report.error(endpoint);
+            }
+        }
+    }
+
+    private long randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private List<Long> randomUsers() {
+        return ThreadLocalRandom.current().ints(0, users.size()).distinct().limit(options.batch())
+                .mapToObj(users::get).toList();
+    }
+
+    private List<Long> takeDeletableUsers() {
+        final List<Long> ids = new ArrayList<>(options.batch());
+        Long id;
+        while (ids.size() < options.batch() && (id = deletableUsers.poll()) != null) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    static Path servicesDirectory() throws URISyntaxException {
+        // target/loadtest.jar or target/classes
+        final Path location = Path.of(LoadTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        return location.getParent().resolve("services");
+    }
+
+    record Options(int clients, Duration warmup, Duration duration, int users, int batch, Duration smtpLatency,
+                   Map<Endpoint, Integer> mix, List<String> userServiceProperties, List<String> emailServiceProperties) {
+
+        static Options parse(String[] args) {
+            int clients = 50;
+            Duration warmup = Duration.ofSeconds(10);
+            Duration duration = Duration.ofSeconds(60);
+            int users = 10_000;
+            int batch = 20;
+            Duration smtpLatency = Duration.ofMillis(20);
+            final Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+            for (Endpoint endpoint : Endpoint.values()) {
+                mix.put(endpoint, endpoint.defaultWeight());
+            }
+            final List<String> userServiceProperties = new ArrayList<>();
+            final List<String> emailServiceProperties = new ArrayList<>();
+
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --option=value but got " + arg);
+                }
+                final String name = arg.substring(2, arg.indexOf('='));
+                final String value = arg.substring(arg.indexOf('=') + 1);
+                if (name.startsWith("user-service.")) {
+                    userServiceProperties.add("--" + name.substring("user-service.".length()) + "=" + value);
+                } else if (name.startsWith("email-service.")) {
+                    emailServiceProperties.add("--" + name.substring("email-service.".length()) + "=" + value);
+                } else {
+                    switch (name) {
+                        case "clients" -> clients = Integer.parseInt(value);
+                        case "warmup" -> warmup = duration(value);
+                        case "duration" -> duration = duration(value);
+                        case "users" -> users = Integer.parseInt(value);
+                        case "batch" -> batch = Integer.parseInt(value);
+                        case "smtp-latency" -> smtpLatency = duration(value);
+                        case "mix" -> {
+                            mix.clear();
+                            for (String weight : value.split(",")) {
+                                final String[] parts = weight.split(":");
+                                mix.put(Endpoint.byKey(parts[0]), Integer.parseInt(parts[1]));
+                            }
+                        }
+                        default -> throw new IllegalArgumentException("Unknown option --" + name);
+                    }
+                }
+            }
+            return new Options(clients, warmup, duration, users, batch, smtpLatency, mix,
+                    userServiceProperties, emailServiceProperties);
+        }
+
+        String[] emailServiceArgs(int smtpPort) {
+            final List<String> args = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--spring.mail.host=localhost",
+                    "--spring.mail.port=" + smtpPort,
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN"));
+            args.addAll(emailServiceProperties);
+            return args.toArray(String[]::new);
+        }
+
+        String[] userServiceArgs(int emailServicePort) {
+            final List<String> args = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--email.service.url=http://localhost:" + emailServicePort,
+                    "--spring.cloud.config.enabled=false",
+                    "--spring.jpa.show-sql=false",
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN"));
+            args.addAll(userServiceProperties);
+            return args.toArray(String[]::new);
+        }
+
+        /**
+         * Parses 500ms, 30s or 5m.
+         */
+        static Duration duration(String value) {
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            final long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            return switch (value.charAt(value.length() - 1)) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                default -> throw new IllegalArgumentException("Expected a duration like 500ms, 30s or 5m but got " + value);
+            };
+        }
+    }
+
+}
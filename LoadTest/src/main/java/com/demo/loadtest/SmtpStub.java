@@ -0,0 +1,102 @@
+package com.demo.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accepts SMTP deliveries on a local port and discards them after {@code latency}, standing in for the
+ * mail server of the docker-compose setup. Understands the commands Jakarta Mail sends without
+ * authentication or STARTTLS.
+ */
+final class SmtpStub implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Duration latency;
+    private final AtomicLong delivered = new AtomicLong();
+
+    private SmtpStub(ServerSocket serverSocket, Duration latency) {
+        this.serverSocket = serverSocket;
+        this.latency = latency;
+    }
+
+    static SmtpStub start(Duration latency) throws IOException {
+        final SmtpStub stub = new SmtpStub(new ServerSocket(0, 100, InetAddress.getLoopbackAddress()), latency);
+        Thread.ofVirtual().name("smtp-stub").start(stub::accept);
+        return stub;
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    long delivered() {
+        return delivered.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                Thread.ofVirtual().start(() -> converse(socket));
+            } catch (IOException exception) {
+                // closed
+            }
+        }
+    }
+
+    private void converse(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            reply(out, "220 localhost SMTP stub");
+            String line;
+            while ((line = in.readLine()) != null) {
+                final String command = line.length() < 4 ? line : line.substring(0, 4).toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // discard the message
+                        }
+                        Thread.sleep(latency);
+                        delivered.incrementAndGet();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException exception) {
+            // client went away
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void reply(Writer out, String reply) throws IOException {
+        out.write(reply);
+        out.write("\r\n");
+        out.flush();
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.demo.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Starts UserManagementService again and again in each of its startup modes and measures, per start, the time
+ * until {@code GET /api/v1/users/1001} first succeeds, how long that first request and the one after it take,
+ * and the CPU time and resident memory of the process once it has answered them. Prints the medians per mode.
+ * The CPU time varies less than the wall-clock times on a busy machine.
+ *
+ * <pre>
+ * mvn -f UserManagementService/pom.xml package -DskipTests -Paot,cds
+ * java -cp LoadTest/target/loadtest.jar com.demo.loadtest.StartupBenchmark [--runs=5] [--port=8081]
+ *     [--target=UserManagementService/target] [--timeout=120s] [--mode=&lt;name&gt;:&lt;command&gt;]
+ * </pre>
+ *
+ * Without {@code --mode} options the modes are a plain, an AOT-processed and an AOT-processed start with the
+ * class data sharing archive, all from the jar the cds profile extracts to {@code target/cds}, and the native
+ * executable if {@code mvn -Pnative native:compile} built one. Commands run in the directory they are found in.
+ */
+public class StartupBenchmark {
+
+    private static final String USERNAME = "demo";
+    private static final String PASSWORD = "pass";
+    private static final long USER_ID = 1001;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    public static void main(String[] args) throws Exception {
+        final Options options = Options.parse(args);
+        final Map<String, Mode> modes = options.modes().isEmpty() ? defaultModes(options) : options.modes();
+
+        System.out.printf("%-10s %6s %12s %14s %15s %8s %8s%n", "mode", "runs", "startup ms", "1st request ms", "2nd request ms", "cpu s", "rss MB");
+        for (Mode mode : modes.values()) {
+            final List<Start> starts = new ArrayList<>();
+            for (int run = 0; run < options.runs(); run++) {
+                starts.add(start(mode, options));
+            }
+            System.out.printf("%-10s %6d %12.0f %14.1f %15.1f %8.1f %8.0f%n", mode.name(), starts.size(),
+                    median(starts, Start::startupNanos) / 1e6, median(starts, Start::firstRequestNanos) / 1e6,
+                    median(starts, Start::secondRequestNanos) / 1e6, median(starts, Start::cpuNanos) / 1e9,
+                    median(starts, Start::rssKilobytes) / 1024);
+        }
+    }
+
+    private static Start start(Mode mode, Options options) throws Exception {
+        final UserApiClient api = new UserApiClient(options.port(), USERNAME, PASSWORD);
+        final long start = System.nanoTime();
+        final Process process = new ProcessBuilder(mode.command())
+                .directory(mode.directory().toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            final long deadline = start + options.timeout().toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + process.exitValue() + " before answering");
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(mode.name() + " did not answer within " + options.timeout().toSeconds() + "s");
+                }
+                final long requestStart = System.nanoTime();
+                try {
+                    if (api.getUser(USER_ID) == 200) {
+                        final long firstRequest = System.nanoTime() - requestStart;
+                        final long startup = System.nanoTime() - start;
+                        final long secondRequestStart = System.nanoTime();
+                        api.getUser(USER_ID);
+                        final long secondRequest = System.nanoTime() - secondRequestStart;
+                        final long cpu = process.info().totalCpuDuration().map(Duration::toNanos).orElse(0L);
+                        return new Start(startup, firstRequest, secondRequest, cpu, rssKilobytes(process));
+                    }
+                } catch (IOException notListeningYet) {
+                    // the server socket is not open yet
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    /**
+     * The VmRSS line of /proc/&lt;pid&gt;/status, 0 where there is none.
+     */
+    private static long rssKilobytes(Process process) throws IOException {
+        final Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        // VmRSS:	  345678 kB
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(0);
+    }
+
+    private static double median(List<Start> starts, ToLongFunction<Start> value) {
+        final long[] values = starts.stream().mapToLong(value).sorted().toArray();
+        return values.length % 2 == 1
+                ? values[values.length / 2]
+                : (values[values.length / 2 - 1] + values[values.length / 2]) / 2.0;
+    }
+
+    private static Map<String, Mode> defaultModes(Options options) {
+        final Path cds = options.target().resolve("cds");
+        if (!Files.exists(cds.resolve("application.jsa"))) {
+            throw new IllegalStateException(cds + " does not contain a CDS archive, build UserManagementService with mvn package -Paot,cds");
+        }
+        final List<String> serviceArgs = List.of(
+                "--server.port=" + options.port(),
+                "--spring.cloud.config.enabled=false",
+                "--logging.level.root=WARN");
+        final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        final Map<String, Mode> modes = new LinkedHashMap<>();
+        modes.put("jvm", new Mode("jvm", cds, command(List.of(java, "-jar", "application.jar"), serviceArgs)));
+        modes.put("aot", new Mode("aot", cds,
+                command(List.of(java, "-Dspring.aot.enabled=true", "-jar", "application.jar"), serviceArgs)));
+        modes.put("aot+cds", new Mode("aot+cds", cds, command(List.of(java, "-XX:SharedArchiveFile=application.jsa",
+                "-Dspring.aot.enabled=true", "-jar", "application.jar"), serviceArgs)));
+        final Path executable = options.target().resolve("UserManagementService");
+        if (Files.isExecutable(executable)) {
+            modes.put("native", new Mode("native", options.target(),
+                    command(List.of(executable.toAbsolutePath().toString()), serviceArgs)));
+        }
+        return modes;
+    }
+
+    private static List<String> command(List<String> command, List<String> args) {
+        final List<String> commandLine = new ArrayList<>(command);
+        commandLine.addAll(args);
+        return commandLine;
+    }
+
+    /**
+     * A command line that starts the service on {@code --port}, run in {@code directory}.
+     */
+    record Mode(String name, Path directory, List<String> command) {
+    }
+
+    private record Start(long startupNanos, long firstRequestNanos, long secondRequestNanos, long cpuNanos,
+                         long rssKilobytes) {
+    }
+
+    record Options(int runs, int port, Path target, Duration timeout, Map<String, Mode> modes) {
+
+        static Options parse(String[] args) {
+            int runs = 5;
+            int port = 8081;
+            Path target = Path.of("UserManagementService", "target");
+            Duration timeout = Duration.ofSeconds(120);
+            final Map<String, Mode> modes = new LinkedHashMap<>();
+
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --option=value but got " + arg);
+                }
+                final String name = arg.substring(2, arg.indexOf('='));
+                final String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "runs" -> runs = Integer.parseInt(value);
+                    case "port" -> port = Integer.parseInt(value);
+                    case "target" -> target = Path.of(value);
+                    case "timeout" -> timeout = LoadTest.Options.duration(value);
+                    case "mode" -> {
+                        // --mode=jvm-serial:java -XX:+UseSerialGC -jar UserManagementService/target/UserManagementService-0.0.1-SNAPSHOT-exec.jar
+                        final String mode = value.substring(0, value.indexOf(':'));
+                        modes.put(mode, new Mode(mode, Path.of("."), Arrays.asList(value.substring(value.indexOf(':') + 1).split("\\s+"))));
+                    }
+                    default -> throw new IllegalArgumentException("Unknown option --" + name);
+                }
+            }
+            return new Options(runs, port, target, timeout, modes);
+        }
+    }
+
+}
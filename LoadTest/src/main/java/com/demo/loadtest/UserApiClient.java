@@ -0,0 +1,97 @@
+package com.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Calls the /api/v1/users endpoints of UserManagementService. Every method returns the HTTP status code,
+ * or the ids of the created users for the register calls.
+ */
+final class UserApiClient {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+    private final String baseUri;
+    private final String authHeader;
+
+    UserApiClient(int port, String username, String password) {
+        this.baseUri = "http://localhost:" + port + "/api/v1/users";
+        this.authHeader = "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id of the new user, taken from the Location header.
+     */
+    long register(String name, String email) throws IOException, InterruptedException {
+        final HttpResponse<Void> response = send(request("/register")
+                .POST(json(user(name, email))), HttpResponse.BodyHandlers.discarding());
+        expect(201, response);
+        final String location = response.headers().firstValue("Location").orElseThrow();
+        return Long.parseLong(location.substring(location.lastIndexOf('/') + 1));
+    }
+
+    List<Long> registerAll(List<String> emails) throws IOException, InterruptedException {
+        final HttpResponse<String> response = send(request("/register/batch")
+                .POST(json(emails.stream().map(email -> user("Load User", email)).collect(Collectors.joining(",", "[", "]")))),
+                HttpResponse.BodyHandlers.ofString());
+        expect(201, response);
+        final Matcher ids = ID.matcher(response.body());
+        return ids.results().map(id -> Long.parseLong(id.group(1))).toList();
+    }
+
+    int getUser(long id) throws IOException, InterruptedException {
+        return send(request("/" + id).GET(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    int getUsers(List<Long> ids) throws IOException, InterruptedException {
+        return send(request("").POST(json(ids.toString())), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    int updateUsers(List<Long> ids, String name) throws IOException, InterruptedException {
+        final String users = ids.stream()
+                .map(id -> "{\"id\":" + id + ",\"full-name\":\"" + name + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        return send(request("/update/multiple").method("PATCH", json(users)), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    int deleteUsers(List<Long> ids) throws IOException, InterruptedException {
+        return send(request("").method("DELETE", json(ids.toString())), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .header("Authorization", authHeader)
+                .header("Content-Type", "application/json");
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        return httpClient.send(request.build(), bodyHandler);
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+
+    private static String user(String name, String email) {
+        return "{\"full-name\":\"" + name + "\",\"email\":\"" + email + "\"}";
+    }
+
+    private static void expect(int status, HttpResponse<?> response) throws IOException {
+        if (response.statusCode() != status) {
+            throw new IOException(response.request().method() + " " + response.uri() + " returned " + response.statusCode());
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.demo.servicecommon;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Remembers the authenticated token of each successful username/password authentication for a short time, so
+ * repeated HTTP Basic requests with the same credentials skip the delegate's user lookup, password encoder match
+ * and token creation. Entries are keyed by an HMAC of the credentials under a key generated at startup, so the
+ * cache never holds the passwords themselves. Failed attempts are not cached and always reach the delegate.
+ */
+public class CachingAuthenticationManager implements AuthenticationManager {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationManager delegate;
+    private final Cache<String, Authentication> cache;
+    private final SecretKeySpec key;
+
+    public CachingAuthenticationManager(AuthenticationManager delegate, Duration ttl, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maximumSize).build();
+        final byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken)
+                || !(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        final String cacheKey = cacheKey(authentication.getName(), password);
+        final Authentication cached = cache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            cache.put(cacheKey, result);
+        }
+        return result;
+    }
+
+    private String cacheKey(String username, String password) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(ALGORITHM + " is not available", exception);
+        }
+    }
+
+}
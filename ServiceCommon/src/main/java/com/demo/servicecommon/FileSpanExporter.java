@@ -0,0 +1,81 @@
+package com.demo.servicecommon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends every finished span to a file as one JSON object per line, so traces can be inspected locally
+ * without running a collector.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    public FileSpanExporter(Path file, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                writer.write(objectMapper.writeValueAsString(toMap(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException exception) {
+            log.warn("{} spans could not be written", spans.size(), exception);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException exception) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private Map<String, Object> toMap(SpanData span) {
+        final Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("traceId", span.getTraceId());
+        map.put("spanId", span.getSpanId());
+        map.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        map.put("name", span.getName());
+        map.put("kind", span.getKind());
+        map.put("start", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString());
+        map.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000);
+        map.put("status", span.getStatus().getStatusCode());
+        map.put("attributes", attributes);
+        return map;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.demo.servicecommon;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationManagerTest {
+
+    @Mock
+    private AuthenticationManager delegate;
+
+    private CachingAuthenticationManager cachingAuthenticationManager;
+
+    private final Authentication authenticated = UsernamePasswordAuthenticationToken.authenticated("demo", null, List.of());
+
+    @BeforeEach
+    void setUp() {
+        cachingAuthenticationManager = new CachingAuthenticationManager(delegate, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void authenticate_SameCredentialsAreCheckedOnce() {
+        when(delegate.authenticate(any())).thenReturn(authenticated);
+
+        assertSame(authenticated, cachingAuthenticationManager.authenticate(credentials("demo", "pass")));
+        assertSame(authenticated, cachingAuthenticationManager.authenticate(credentials("demo", "pass")));
+
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_DifferentPasswordIsChecked() {
+        when(delegate.authenticate(any())).thenReturn(authenticated)
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        cachingAuthenticationManager.authenticate(credentials("demo", "pass"));
+
+        assertThrows(BadCredentialsException.class,
+                () -> cachingAuthenticationManager.authenticate(credentials("demo", "wrong")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_FailureIsNotCached() {
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"))
+                .thenReturn(authenticated);
+
+        assertThrows(BadCredentialsException.class,
+                () -> cachingAuthenticationManager.authenticate(credentials("demo", "pass")));
+
+        assertSame(authenticated, cachingAuthenticationManager.authenticate(credentials("demo", "pass")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private Authentication credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
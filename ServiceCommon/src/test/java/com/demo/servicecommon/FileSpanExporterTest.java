@@ -0,0 +1,50 @@
+package com.demo.servicecommon;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void export_AppendsOneJsonLinePerSpan() throws Exception {
+        Path file = directory.resolve("spans.jsonl");
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file, objectMapper)))
+                .build()) {
+            Span parent = tracerProvider.get("test").spanBuilder("send emails").startSpan();
+            try (Scope ignored = parent.makeCurrent()) {
+                tracerProvider.get("test").spanBuilder("smtp").setAttribute("messages", 2).startSpan().end();
+            }
+            parent.end();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode parent = objectMapper.readTree(lines.get(1));
+        assertEquals("smtp", child.get("name").asText());
+        assertEquals(2, child.get("attributes").get("messages").asInt());
+        assertEquals(parent.get("traceId").asText(), child.get("traceId").asText());
+        assertEquals(parent.get("spanId").asText(), child.get("parentSpanId").asText());
+        assertTrue(parent.get("parentSpanId").isNull());
+    }
+
+}
@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 @Getter
 @Setter
 @Component
@@ -12,5 +15,49 @@ import org.springframework.stereotype.Component;
 public class ApplicationProperties {
     private String emailFrom;
     private String emailServiceAuthHeader;
+    private EmailServiceToken emailServiceToken = new EmailServiceToken();
+    private EmailOutbox emailOutbox = new EmailOutbox();
+    private AuthenticationCache authenticationCache = new AuthenticationCache();
+    private UserLookup userLookup = new UserLookup();
+    private EmailIndex emailIndex = new EmailIndex();
+    private Path spanFile;
+
+    @Getter
+    @Setter
+    public static class EmailOutbox {
+        private Duration pollInterval = Duration.ofSeconds(1);
+        private int batchSize = 100;
+        private Duration claimTimeout = Duration.ofMinutes(1);
+        private Duration initialBackoff = Duration.ofSeconds(5);
+        private Duration maxBackoff = Duration.ofMinutes(30);
+    }
+
+    @Getter
+    @Setter
+    public static class EmailServiceToken {
+        private String secret;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class UserLookup {
+        private int chunkSize = 500;
+        private int parallelism = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class EmailIndex {
+        private long expectedEmails = 1_000_000;
+        private double falsePositiveProbability = 0.01;
+    }
+
+    @Getter
+    @Setter
+    public static class AuthenticationCache {
+        private Duration ttl = Duration.ofMinutes(1);
+        private long maximumSize = 1000;
+    }
 
 }
@@ -1,14 +1,17 @@
 package com.demo.usermanagementservice;
 
 import com.demo.usermanagementservice.dto.EmailDto;
-import jakarta.ws.rs.core.HttpHeaders;
+import com.demo.usermanagementservice.dto.EmailStatusDto;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
+import java.util.List;
+
 @FeignClient(name="email-service", url = "${email.service.url}")
 public interface EmailServiceApi {
-    @PostMapping("/api/email/simple/send")
-    void sendTextEmail(@RequestBody EmailDto emailDto, @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader);
+    @PostMapping("/api/email/batch/send")
+    List<EmailStatusDto> sendTextEmails(@RequestBody List<EmailDto> emailDtos, @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader);
 }
@@ -1,20 +1,31 @@
 package com.demo.usermanagementservice;
 
+import com.demo.usermanagementservice.controller.UserController;
+import com.demo.usermanagementservice.metrics.UserServiceMetrics;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import jakarta.servlet.Filter;
 import org.springdoc.core.customizers.OpenApiCustomizer;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @SpringBootApplication
+@EnableCaching
+@EnableScheduling
 @EnableFeignClients
 @EnableWebSecurity
 @EnableConfigurationProperties
+@ImportRuntimeHints(UserManagementServiceRuntimeHints.class)
 public class UserManagementServiceApplication {
 
     public static void main(String[] args) {
@@ -36,4 +47,16 @@ public class UserManagementServiceApplication {
         };
     }
 
+    /**
+     * With {@code spring.main.lazy-initialization=true}, as in the prod profile, beans are created when they are
+     * first used. The controller, the servlet filters including Spring Security's, the transaction manager and the
+     * service timer, and with them everything an API request needs, are still created at startup so that the first
+     * request does not pay for them.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter userApiLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(UserController.class, Filter.class,
+                PlatformTransactionManager.class, UserServiceMetrics.class);
+    }
+
 }
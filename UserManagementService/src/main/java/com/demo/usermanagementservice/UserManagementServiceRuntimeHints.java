@@ -0,0 +1,40 @@
+package com.demo.usermanagementservice;
+
+import com.demo.usermanagementservice.dto.EmailDto;
+import com.demo.usermanagementservice.dto.EmailStatusDto;
+import com.demo.usermanagementservice.dto.UserDto;
+import com.demo.usermanagementservice.dto.UserRegisterDto;
+import com.demo.usermanagementservice.dto.UserUpdateDto;
+import com.demo.usermanagementservice.exception.CustomExceptionDetail;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * What a native image cannot find out by itself: the AOT processing only sees the types of controller method
+ * signatures, so the Feign request and response bodies and the error body behind {@code ResponseEntity<Object>}
+ * are registered here, with the getters, setters and constructors Lombok generates for them. Jackson XML looks
+ * up its StAX implementation through {@code javax.xml.stream} service files, and springdoc serves the swagger-ui
+ * webjar from the classpath.
+ */
+public class UserManagementServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                EmailDto.class, EmailStatusDto.class, UserDto.class, UserRegisterDto.class, UserUpdateDto.class,
+                CustomExceptionDetail.class);
+
+        hints.resources().registerPattern("META-INF/services/javax.xml.stream.*");
+        hints.reflection().registerType(TypeReference.of("com.ctc.wstx.stax.WstxInputFactory"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(TypeReference.of("com.ctc.wstx.stax.WstxOutputFactory"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+    }
+
+}
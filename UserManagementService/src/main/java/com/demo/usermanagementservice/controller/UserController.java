@@ -1,13 +1,11 @@
 package com.demo.usermanagementservice.controller;
 
-import com.demo.usermanagementservice.ApplicationProperties;
-import com.demo.usermanagementservice.EmailServiceApi;
-import com.demo.usermanagementservice.dto.EmailDto;
 import com.demo.usermanagementservice.dto.UserDto;
 import com.demo.usermanagementservice.dto.UserRegisterDto;
 import com.demo.usermanagementservice.dto.UserUpdateDto;
 import com.demo.usermanagementservice.exception.UserNotFoundException;
 import com.demo.usermanagementservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,10 +13,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
-import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -26,13 +25,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 
 @RestController
@@ -41,27 +45,54 @@ import java.util.Optional;
 @Tag(name = "User Management", description = "Register new user, edit, read or delete selected user(s).")
 public class UserController {
     private final UserService userService;
-    private final MessageSource messageSource;
-    private final ApplicationProperties applicationProperties;
-    private final EmailServiceApi emailServiceApi;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    @Operation(summary = "Get all users' details")
-    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get a page of users' details ordered by id, starting after the given id")
+    @ApiResponse(responseCode = "200", description = "Link header with rel=\"next\" points to the next page, if any")
+    @ApiResponse(responseCode = "304", description = "Page has not changed since the ETag sent in If-None-Match", content = @Content)
+    @ApiResponse(responseCode = "400", description = "Limit is out of range", content = @Content)
+    @ApiResponse(responseCode = "401", description = "Invalid API Credentials", content = @Content)
+    public ResponseEntity<List<UserDto>> getAllUsers(@RequestParam(name = "after", defaultValue = "0") long after,
+                                                     @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        final List<UserDto> users = userService.getAllUsers(after, limit);
+
+        if (users.size() < limit) {
+            return ResponseEntity.ok().eTag(pageETag(users)).varyBy(HttpHeaders.ACCEPT).body(users);
+        }
+
+        URI next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", users.get(users.size() - 1).getId())
+                .replaceQueryParam("limit", limit)
+                .build()
+                .toUri();
+        return ResponseEntity.ok()
+                .eTag(pageETag(users))
+                .varyBy(HttpHeaders.ACCEPT)
+                .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                .body(users);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all users' details as newline-delimited JSON")
     @ApiResponse(responseCode = "200")
     @ApiResponse(responseCode = "401", description = "Invalid API Credentials", content = @Content)
-    public List<UserDto> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        final StreamingResponseBody body = outputStream ->
+                userService.streamAllUsers(user -> writeLine(outputStream, user));
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get user's details specified by id")
-    @ResponseStatus(HttpStatus.OK)
-    @ApiResponse(responseCode = "200")
+    @ApiResponse(responseCode = "200", description = "ETag header holds the user's version")
+    @ApiResponse(responseCode = "304", description = "User has not changed since the ETag sent in If-None-Match", content = @Content)
     @ApiResponse(responseCode = "401", description = "Invalid API Credentials", content = @Content)
     @ApiResponse(responseCode = "404", description = "User not found", content = @Content)
-    public UserDto getUser(@NotNull @PathVariable("id") Long id) {
-        return findUserById(id);
+    public ResponseEntity<UserDto> getUser(@NotNull @PathVariable("id") Long id) {
+        final UserDto user = findUserById(id);
+        return ResponseEntity.ok().eTag(weakETag(Long.toString(user.getVersion()))).varyBy(HttpHeaders.ACCEPT).body(user);
     }
 
     @PostMapping
@@ -76,13 +107,12 @@ public class UserController {
     }
 
     @PostMapping("/register")
-    @Operation(summary = "Register a new user and send a welcome email")
+    @Operation(summary = "Register a new user and queue a welcome email")
     @ApiResponse(responseCode = "201", description = "New user is created")
     @ApiResponse(responseCode = "401", description = "Invalid API Credentials", content = @Content)
     public ResponseEntity<Void> register(@Valid @RequestBody UserRegisterDto user) {
 
         final UserDto addedUser = userService.addUser(user);
-        sendEmail(addedUser);
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
@@ -91,6 +121,17 @@ public class UserController {
         return ResponseEntity.created(location).build();
     }
 
+    @PostMapping("/register/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Register up to 1000 new users at once and queue their welcome emails")
+    @ApiResponse(responseCode = "201", description = "New users are created")
+    @ApiResponse(responseCode = "400", description = "Invalid users", content = @Content)
+    @ApiResponse(responseCode = "401", description = "Invalid API Credentials", content = @Content)
+    @ApiResponse(responseCode = "409", description = "At least one email is already in use", content = @Content)
+    public List<UserDto> registerAll(@NotNull @RequestBody List<@Valid UserRegisterDto> users) {
+        return userService.addUsers(users);
+    }
+
     @PatchMapping("/update/single")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "Update single user")
@@ -139,13 +180,31 @@ public class UserController {
         return user.get();
     }
 
-    private void sendEmail(UserDto user) {
-        final Locale locale = LocaleContextHolder.getLocale();
-        final EmailDto emailDto = new EmailDto(applicationProperties.getEmailFrom(),
-                user.getEmail(),
-                messageSource.getMessage("email.welcome.subject", null, locale),
-                messageSource.getMessage("email.welcome.message", new String[]{user.getName()}, locale));
-        emailServiceApi.sendTextEmail(emailDto, applicationProperties.getEmailServiceAuthHeader());
+    /**
+     * The page's body is determined by the ids and versions of its users, so their digest changes whenever
+     * the page does.
+     */
+    private String pageETag(List<UserDto> users) {
+        final StringBuilder versions = new StringBuilder(users.size() * 16);
+        users.forEach(user -> versions.append(user.getId()).append(':').append(user.getVersion()).append(','));
+        return weakETag(DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Users are sent as JSON, CBOR or Smile and possibly gzipped, so an ETag identifies their content rather
+     * than the exact bytes. Tomcat also does not compress responses with a strong ETag.
+     */
+    private String weakETag(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+    private void writeLine(OutputStream outputStream, UserDto user) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(user));
+            outputStream.write('\n');
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
     }
 
 }
@@ -0,0 +1,24 @@
+package com.demo.usermanagementservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailStatusDto {
+
+    public enum Status {
+        SENT,
+        FAILED
+    }
+
+    private String emailTo;
+
+    private Status status;
+
+    private String error;
+}
@@ -1,5 +1,6 @@
 package com.demo.usermanagementservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -29,4 +30,16 @@ public class UserDto {
     @Email(message = "Email format is not valid")
     private String email;
 
+    /**
+     * Version of the user this was read from, sent as the ETag rather than in the body.
+     */
+    @JsonIgnore
+    private long version;
+
+    public UserDto(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.demo.usermanagementservice.exception;
 
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -8,9 +9,11 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.time.LocalDateTime;
+import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
@@ -73,4 +76,21 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
         return ResponseEntity.badRequest().body(customExceptionDetail);
     }
+
+    @Override
+    protected ResponseEntity<Object> handleHandlerMethodValidationException(HandlerMethodValidationException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+
+        final String errorMessage = ex.getAllErrors().stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .distinct()
+                .collect(Collectors.joining(", ", "Errors: ", ""));
+
+        final CustomExceptionDetail customExceptionDetail =
+                new CustomExceptionDetail(LocalDateTime.now(),
+                        errorMessage,
+                        request.getDescription(false),
+                        CustomErrorCode.BAD_REQUEST.code);
+
+        return ResponseEntity.badRequest().body(customExceptionDetail);
+    }
 }
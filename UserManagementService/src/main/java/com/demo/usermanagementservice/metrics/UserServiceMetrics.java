@@ -0,0 +1,56 @@
+package com.demo.usermanagementservice.metrics;
+
+import com.demo.usermanagementservice.exception.BadRequestException;
+import com.demo.usermanagementservice.exception.DuplicatedEmailException;
+import com.demo.usermanagementservice.exception.UserNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Times every public {@code UserService} method as {@value #TIMER}, tagged with the method name and its
+ * outcome: success, not-found, duplicate, bad-request or error. Together with the repository timers
+ * ({@code spring.data.repository.invocations}) and the Feign timers ({@code http.client.requests}) this shows
+ * where the time of a slow request goes.
+ */
+@Aspect
+@Component
+@AllArgsConstructor
+public class UserServiceMetrics {
+    public static final String TIMER = "user.service";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.demo.usermanagementservice.service.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            final Object result = joinPoint.proceed();
+            outcome = result instanceof Optional<?> optional && optional.isEmpty() ? "not-found" : "success";
+            return result;
+        } catch (UserNotFoundException exception) {
+            outcome = "not-found";
+            throw exception;
+        } catch (DuplicatedEmailException exception) {
+            outcome = "duplicate";
+            throw exception;
+        } catch (BadRequestException exception) {
+            outcome = "bad-request";
+            throw exception;
+        } finally {
+            sample.stop(Timer.builder(TIMER)
+                    .description("Time spent in UserService methods")
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+}
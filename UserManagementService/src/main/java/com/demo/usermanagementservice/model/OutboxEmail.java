@@ -0,0 +1,50 @@
+package com.demo.usermanagementservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "EMAIL_OUTBOX")
+public class OutboxEmail {
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(name = "email_from", nullable = false)
+    private String emailFrom;
+
+    @Column(name = "email_to", nullable = false)
+    private String emailTo;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "text", nullable = false, length = 4000)
+    private String text;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    public OutboxEmail(String emailFrom, String emailTo, String subject, String text, Instant nextAttemptAt) {
+        this.emailFrom = emailFrom;
+        this.emailTo = emailTo;
+        this.subject = subject;
+        this.text = text;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+}
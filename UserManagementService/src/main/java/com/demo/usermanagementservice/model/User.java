@@ -3,24 +3,44 @@ package com.demo.usermanagementservice.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Locale;
+
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity(name = "USER_DETAIL")
+@Table(indexes = {
+        @Index(name = User.ACTIVE_EMAIL_INDEX, columnList = "active_email", unique = true),
+        @Index(name = "idx_user_detail_archived_id", columnList = "archived, id")})
 public class User {
+    public static final String ACTIVE_EMAIL_INDEX = "uk_user_detail_active_email";
+
+    /**
+     * Number of ids reserved per sequence call by the pooled optimizer. Must match the increment of
+     * user_detail_seq, which is set by the migrations.
+     */
+    public static final int ID_ALLOCATION_SIZE = 100;
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_detail_seq")
+    @SequenceGenerator(name = "user_detail_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "name")
@@ -35,10 +55,42 @@ public class User {
     @Column(name = "archived")
     private boolean archived;
 
+    /**
+     * Normalized email while the user is active, null once archived. Backed by a unique index, so an
+     * email can belong to only one active user.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "active_email")
+    private String activeEmail;
+
+    /**
+     * Incremented on every change, including the bulk updates in {@link com.demo.usermanagementservice.repository.UserRepository},
+     * and used as the user's ETag.
+     */
+    @Version
+    @Column(name = "version")
+    private long version;
+
     public User(String name, String email) {
         this.name = name;
         this.email = email;
     }
 
+    public User(Long id, String name, String email, boolean archived) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.archived = archived;
+    }
+
+    public static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateActiveEmail() {
+        activeEmail = archived || email == null ? null : normalizeEmail(email);
+    }
 
 }
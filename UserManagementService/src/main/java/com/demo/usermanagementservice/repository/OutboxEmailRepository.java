@@ -0,0 +1,29 @@
+package com.demo.usermanagementservice.repository;
+
+import com.demo.usermanagementservice.model.OutboxEmail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * Selects due emails for update, skipping the rows another transaction has locked (lock timeout -2 is
+     * Hibernate's {@code LockOptions.SKIP_LOCKED}), so concurrent instances never select the same email. H2 has
+     * no SKIP LOCKED and waits for the lock instead, after which the claimed rows are no longer due.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<OutboxEmail> findOutboxEmailsByNextAttemptAtLessThanEqualOrderByIdAsc(Instant now, Limit limit);
+
+}
@@ -1,21 +1,65 @@
 package com.demo.usermanagementservice.repository;
 
+import com.demo.usermanagementservice.dto.UserDto;
 import com.demo.usermanagementservice.model.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Selects active users straight into {@link UserDto}, so lookups create no managed entities, snapshots or
+     * dirty checks. The read-only transaction is declared here rather than on {@code UserService}, so cache
+     * hits there do not open one.
+     */
+    String SELECT_USER_DTO = "select new com.demo.usermanagementservice.dto.UserDto(u.id, u.name, u.email, u.version) " +
+            "from USER_DETAIL u where u.archived = false ";
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_USER_DTO + "and u.id > :after order by u.id")
+    List<UserDto> findUserDtosByIdGreaterThan(@Param("after") long after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_USER_DTO + "and u.id = :id")
+    Optional<UserDto> findUserDtoById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_USER_DTO + "and u.id in :ids")
+    List<UserDto> findUserDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.demo.usermanagementservice.dto.UserDto(u.id, u.name, u.email) " +
+            "from USER_DETAIL u where u.archived = false order by u.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<UserDto> streamUsersByArchivedFalse();
 
-    List<User> findUsersByArchivedFalse();
+    @Query("select u.activeEmail from USER_DETAIL u where u.activeEmail is not null")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<String> streamActiveEmails();
 
-    List<User> findUsersByIdInAndArchivedFalse(List<Long> ids);
+    boolean existsByActiveEmail(String activeEmail);
 
-    Optional<User> findUserByIdAndArchivedFalse(Long id);
+    @Query("select u.activeEmail from USER_DETAIL u where u.activeEmail in :activeEmails")
+    List<String> findActiveEmailsByActiveEmailIn(@Param("activeEmails") Collection<String> activeEmails);
 
-    User findUserByEmailEqualsIgnoreCaseAndArchivedFalse(String email);
+    @Modifying
+    @Query("update USER_DETAIL u set u.archived = true, u.activeEmail = null, u.version = u.version + 1 where u.id in :ids")
+    int archiveUsersByIdIn(@Param("ids") Collection<Long> ids);
 
 }
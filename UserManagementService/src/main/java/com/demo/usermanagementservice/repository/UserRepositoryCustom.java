@@ -0,0 +1,14 @@
+package com.demo.usermanagementservice.repository;
+
+import java.util.Map;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Renames the given users and increments their versions with JDBC batch updates, without loading the entities.
+     *
+     * @return the number of users that were updated
+     */
+    int updateNames(Map<Long, String> namesById);
+
+}
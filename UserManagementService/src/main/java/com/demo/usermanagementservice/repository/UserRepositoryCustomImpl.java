@@ -0,0 +1,57 @@
+package com.demo.usermanagementservice.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@AllArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int updateNames(Map<Long, String> namesById) {
+        final int[][] updateCounts = jdbcTemplate.batchUpdate("update USER_DETAIL set name = ?, version = version + 1 where id = ?",
+                namesById.entrySet(), BATCH_SIZE, (statement, entry) -> {
+                    statement.setString(1, entry.getValue());
+                    statement.setLong(2, entry.getKey());
+                });
+
+        int updated = 0;
+        boolean countsUnknown = false;
+        for (int count : Arrays.stream(updateCounts).flatMapToInt(Arrays::stream).toArray()) {
+            if (count == Statement.SUCCESS_NO_INFO) {
+                countsUnknown = true;
+            } else if (count < 0) {
+                throw new IllegalStateException("Renaming users failed with update count " + count);
+            } else {
+                updated += count;
+            }
+        }
+
+        // the driver ran some updates without saying how many rows they changed, so count the rows instead
+        return countsUnknown ? countUsers(List.copyOf(namesById.keySet())) : updated;
+    }
+
+    /**
+     * Counts the existing users among {@code ids} with one query per {@value #BATCH_SIZE} ids, the chunks the
+     * updates ran in, so that no query binds more ids than a database accepts in one in list.
+     */
+    private int countUsers(List<Long> ids) {
+        int count = 0;
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            final Object[] chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())).toArray();
+            final String placeholders = String.join(", ", Collections.nCopies(chunk.length, "?"));
+            count += jdbcTemplate.queryForObject("select count(*) from USER_DETAIL where id in (" + placeholders + ")",
+                    Integer.class, chunk);
+        }
+        return count;
+    }
+
+}
@@ -1,9 +1,12 @@
 package com.demo.usermanagementservice.security;
 
+import com.demo.servicecommon.CachingAuthenticationManager;
+import com.demo.usermanagementservice.ApplicationProperties;
 import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.SecurityFilterChain;
@@ -11,13 +14,17 @@ import org.springframework.security.web.SecurityFilterChain;
 @Configuration
 public class CustomSpringSecurityConfiguration {
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationConfiguration authenticationConfiguration,
+                                           ApplicationProperties applicationProperties) throws Exception {
+        final ApplicationProperties.AuthenticationCache authenticationCache = applicationProperties.getAuthenticationCache();
 
         http.csrf(AbstractHttpConfigurer::disable).
                 authorizeHttpRequests(auth ->
                         auth.requestMatchers("/v3/api-docs/**", "/swagger-resources/**", "/swagger-ui/**").permitAll()
                                 .anyRequest().authenticated())
-                .httpBasic(Customizer.withDefaults());
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(new CachingAuthenticationManager(authenticationConfiguration.getAuthenticationManager(),
+                        authenticationCache.getTtl(), authenticationCache.getMaximumSize()));
 
         return http.build();
     }
@@ -0,0 +1,73 @@
+package com.demo.usermanagementservice.security;
+
+import com.demo.usermanagementservice.ApplicationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Authorization header for calls to EmailService. With {@code email-service-token.secret} set it is a token
+ * {@code Bearer <issuer>.<expires-at-epoch-seconds>.<base64url HMAC-SHA256 of "issuer.expires-at">} signed with the
+ * secret shared with EmailService, issued once and re-issued when half of its lifetime has passed. Without a secret
+ * the static {@code email-service-auth-header} is sent.
+ */
+@Component
+public class EmailServiceAuthorization {
+    static final String ISSUER = "user-management-service";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final ApplicationProperties applicationProperties;
+    private final Clock clock;
+    private volatile Token token;
+
+    @Autowired
+    public EmailServiceAuthorization(ApplicationProperties applicationProperties) {
+        this(applicationProperties, Clock.systemUTC());
+    }
+
+    EmailServiceAuthorization(ApplicationProperties applicationProperties, Clock clock) {
+        this.applicationProperties = applicationProperties;
+        this.clock = clock;
+    }
+
+    public String header() {
+        final ApplicationProperties.EmailServiceToken config = applicationProperties.getEmailServiceToken();
+        if (config.getSecret() == null || config.getSecret().isEmpty()) {
+            return applicationProperties.getEmailServiceAuthHeader();
+        }
+
+        final Instant now = clock.instant();
+        Token current = token;
+        if (current == null || !now.isBefore(current.renewAt())) {
+            current = issue(config, now);
+            token = current;
+        }
+        return current.header();
+    }
+
+    private Token issue(ApplicationProperties.EmailServiceToken config, Instant now) {
+        final Duration ttl = config.getTtl();
+        final String payload = ISSUER + "." + now.plus(ttl).getEpochSecond();
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(config.getSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            final String signature = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+            return new Token("Bearer " + payload + "." + signature, now.plus(ttl.dividedBy(2)));
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(ALGORITHM + " is not available", exception);
+        }
+    }
+
+    private record Token(String header, Instant renewAt) {
+    }
+
+}
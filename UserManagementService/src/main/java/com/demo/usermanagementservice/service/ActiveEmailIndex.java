@@ -0,0 +1,119 @@
+package com.demo.usermanagementservice.service;
+
+import com.demo.usermanagementservice.ApplicationProperties;
+import com.demo.usermanagementservice.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of the normalized emails of active users, so registration only asks the database about emails
+ * that might be taken. A negative answer is exact; a positive one has to be confirmed, since the filter also
+ * answers positively for emails of archived users, which cannot be removed from it, and with the configured
+ * false-positive probability for any other email.
+ * <p>
+ * The filter is filled from a scan of the table once the application is ready. Until then every email might be
+ * taken. Emails registered through other instances are not in this filter, which is safe because the unique
+ * index on {@code active_email} still rejects a duplicate that the filter misses.
+ */
+@Slf4j
+@Component
+public class ActiveEmailIndex {
+
+    private final UserRepository userRepository;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private volatile boolean warm;
+
+    public ActiveEmailIndex(ApplicationProperties applicationProperties, UserRepository userRepository) {
+        this.userRepository = userRepository;
+        final ApplicationProperties.EmailIndex config = applicationProperties.getEmailIndex();
+        final long expectedEmails = config.getExpectedEmails();
+        final double falsePositiveProbability = config.getFalsePositiveProbability();
+        if (expectedEmails < 1) {
+            throw new IllegalArgumentException("email-index.expected-emails must be at least 1 but is " + expectedEmails);
+        }
+        if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+            throw new IllegalArgumentException("email-index.false-positive-probability must be between 0 and 1 (exclusive) but is "
+                    + falsePositiveProbability);
+        }
+        final double bitsPerEmail = -Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+        this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(expectedEmails * bitsPerEmail / 64)));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round(bitsPerEmail * Math.log(2)));
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        final long start = System.nanoTime();
+        final long[] count = {0};
+        try (Stream<String> emails = userRepository.streamActiveEmails()) {
+            emails.forEach(email -> {
+                add(email);
+                count[0]++;
+            });
+        }
+        warm = true;
+        log.info("Indexed {} active emails in {} ms", count[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param email normalized email, see {@link com.demo.usermanagementservice.model.User#normalizeEmail}
+     */
+    public void add(String email) {
+        final long hash = hash(email);
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = bit(hash, i);
+            final int index = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            long word;
+            do {
+                word = bits.get(index);
+            } while ((word & mask) == 0 && !bits.compareAndSet(index, word, word | mask));
+        }
+    }
+
+    /**
+     * @param email normalized email, see {@link com.demo.usermanagementservice.model.User#normalizeEmail}
+     * @return false only if no active user has the email
+     */
+    public boolean mightContain(String email) {
+        if (!warm) {
+            return true;
+        }
+
+        final long hash = hash(email);
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = bit(hash, i);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the email, whose halves seed the double hashing in {@link #bit}.
+     */
+    private static long hash(String email) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < email.length(); i++) {
+            hash ^= email.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private long bit(long hash, int i) {
+        final long combined = (int) hash + (long) i * (int) (hash >>> 32);
+        return Math.floorMod(combined, bitCount);
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.demo.usermanagementservice.service;
+
+import com.demo.usermanagementservice.ApplicationProperties;
+import com.demo.usermanagementservice.EmailServiceApi;
+import com.demo.usermanagementservice.dto.EmailDto;
+import com.demo.usermanagementservice.dto.EmailStatusDto;
+import com.demo.usermanagementservice.model.OutboxEmail;
+import com.demo.usermanagementservice.repository.OutboxEmailRepository;
+import com.demo.usermanagementservice.security.EmailServiceAuthorization;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the email outbox in batches, each delivered with a single call to EmailService. A batch is claimed
+ * with {@link EmailOutboxService#claimDueEmails()} before it is sent, so instances running side by side send
+ * different emails. A delivered email is removed from the outbox; a failed one stays and is retried with
+ * exponential backoff, capped at the configured maximum, so no email is dropped.
+ * <p>
+ * Calls go through the {@value #EMAIL_SERVICE} circuit breaker. While it is open the batch is not sent and
+ * is made due again without using up a retry attempt, so delivery is only deferred until EmailService
+ * recovers.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class EmailOutboxDispatcher {
+    static final String EMAIL_SERVICE = "email-service";
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailServiceApi emailServiceApi;
+    private final ApplicationProperties applicationProperties;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final EmailServiceAuthorization emailServiceAuthorization;
+
+    @Scheduled(fixedDelayString = "${user-management-service.email-outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        final List<OutboxEmail> emails = emailOutboxService.claimDueEmails();
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        final List<EmailStatusDto> statuses;
+        try {
+            statuses = circuitBreakerRegistry.circuitBreaker(EMAIL_SERVICE).executeSupplier(() ->
+                    emailServiceApi.sendTextEmails(emails.stream().map(this::toDto).toList(),
+                            emailServiceAuthorization.header()));
+        } catch (CallNotPermittedException exception) {
+            log.debug("Circuit to EmailService is open, deferring {} emails", emails.size());
+            final Instant now = Instant.now();
+            emails.forEach(email -> email.setNextAttemptAt(now));
+            outboxEmailRepository.saveAll(emails);
+            return;
+        } catch (Exception exception) {
+            log.warn("Batch of {} emails could not be delivered", emails.size(), exception);
+            reschedule(emails);
+            return;
+        }
+
+        final List<OutboxEmail> sent = new ArrayList<>();
+        final List<OutboxEmail> failed = new ArrayList<>();
+        for (int i = 0; i < emails.size(); i++) {
+            final boolean delivered = i < statuses.size() && statuses.get(i).getStatus() == EmailStatusDto.Status.SENT;
+            (delivered ? sent : failed).add(emails.get(i));
+        }
+
+        outboxEmailRepository.deleteAllInBatch(sent);
+        reschedule(failed);
+    }
+
+    private void reschedule(List<OutboxEmail> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        emails.forEach(email -> {
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(Instant.now().plus(backoff(email.getAttempts())));
+            log.warn("Outbox email {} could not be delivered (attempt {}), retrying at {}",
+                    email.getId(), email.getAttempts(), email.getNextAttemptAt());
+        });
+        outboxEmailRepository.saveAll(emails);
+    }
+
+    Duration backoff(int attempts) {
+        final ApplicationProperties.EmailOutbox config = applicationProperties.getEmailOutbox();
+        final Duration delay = config.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(config.getMaxBackoff()) > 0 ? config.getMaxBackoff() : delay;
+    }
+
+    private EmailDto toDto(OutboxEmail email) {
+        return new EmailDto(email.getEmailFrom(), email.getEmailTo(), email.getSubject(), email.getText());
+    }
+
+}
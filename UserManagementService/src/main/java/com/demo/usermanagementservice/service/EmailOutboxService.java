@@ -0,0 +1,66 @@
+package com.demo.usermanagementservice.service;
+
+import com.demo.usermanagementservice.ApplicationProperties;
+import com.demo.usermanagementservice.dto.UserDto;
+import com.demo.usermanagementservice.model.OutboxEmail;
+import com.demo.usermanagementservice.repository.OutboxEmailRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes outgoing emails to the outbox table. Enqueuing must join the caller's transaction, so an email
+ * is stored if and only if the change that triggered it is committed. {@link EmailOutboxDispatcher}
+ * claims the stored emails here and delivers them in the background.
+ */
+@Service
+@AllArgsConstructor
+public class EmailOutboxService {
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final MessageSource messageSource;
+    private final ApplicationProperties applicationProperties;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueWelcomeEmail(UserDto user) {
+        outboxEmailRepository.save(toWelcomeEmail(user, LocaleContextHolder.getLocale(), Instant.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueWelcomeEmails(List<UserDto> users) {
+        final Locale locale = LocaleContextHolder.getLocale();
+        final Instant now = Instant.now();
+        outboxEmailRepository.saveAll(users.stream().map(user -> toWelcomeEmail(user, locale, now)).toList());
+    }
+
+    /**
+     * Claims up to {@code email-outbox.batch-size} due emails for this instance by moving their next attempt
+     * {@code email-outbox.claim-timeout} into the future, in a transaction of its own that ends before they are
+     * sent. Rows another instance is claiming at the same time are skipped.
+     */
+    @Transactional
+    public List<OutboxEmail> claimDueEmails() {
+        final ApplicationProperties.EmailOutbox config = applicationProperties.getEmailOutbox();
+        final Instant now = Instant.now();
+        final List<OutboxEmail> emails = outboxEmailRepository.findOutboxEmailsByNextAttemptAtLessThanEqualOrderByIdAsc(
+                now, Limit.of(config.getBatchSize()));
+        emails.forEach(email -> email.setNextAttemptAt(now.plus(config.getClaimTimeout())));
+        return emails;
+    }
+
+    private OutboxEmail toWelcomeEmail(UserDto user, Locale locale, Instant now) {
+        return new OutboxEmail(applicationProperties.getEmailFrom(),
+                user.getEmail(),
+                messageSource.getMessage("email.welcome.subject", null, locale),
+                messageSource.getMessage("email.welcome.message", new String[]{user.getName()}, locale),
+                now);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.demo.usermanagementservice.service;
+
+import com.demo.usermanagementservice.ApplicationProperties;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fixed pool that runs the chunks of large multi-id lookups concurrently. Its size,
+ * {@code user-lookup.parallelism}, caps the connections lookups can hold at once across all requests, so one
+ * huge lookup cannot drain the connection pool. Tasks run with the observation context of the caller, so
+ * their queries belong to the trace of the request.
+ */
+@Component
+public class UserLookupExecutor implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final ExecutorService contextExecutor;
+
+    public UserLookupExecutor(ApplicationProperties applicationProperties) {
+        this.executor = Executors.newFixedThreadPool(applicationProperties.getUserLookup().getParallelism(),
+                new CustomizableThreadFactory("user-lookup-"));
+        final ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
+        this.contextExecutor = ContextExecutorService.wrap(executor, snapshotFactory::captureAll);
+    }
+
+    /**
+     * Runs the tasks and returns their results in the order of the tasks. The first failure is rethrown as is.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        final List<Future<T>> futures;
+        try {
+            futures = contextExecutor.invokeAll(tasks);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while looking up users", exception);
+        }
+
+        final List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while looking up users", exception);
+            } catch (ExecutionException exception) {
+                if (exception.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(exception.getCause());
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.demo.usermanagementservice.service;
 
 
+import com.demo.usermanagementservice.ApplicationProperties;
 import com.demo.usermanagementservice.dto.UserDto;
 import com.demo.usermanagementservice.dto.UserRegisterDto;
 import com.demo.usermanagementservice.dto.UserUpdateDto;
@@ -10,52 +11,197 @@ import com.demo.usermanagementservice.exception.UserNotFoundException;
 import com.demo.usermanagementservice.model.User;
 import com.demo.usermanagementservice.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
-
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class UserService {
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String USERS_CACHE = "users";
+    public static final int MAX_BATCH_SIZE = 1000;
+    private static final int DELETE_CHUNK_SIZE = 1000;
+    private static final int EVICTION_STRIPES = 1024;
+
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final EmailOutboxService emailOutboxService;
+    private final ApplicationProperties applicationProperties;
+    private final UserLookupExecutor userLookupExecutor;
+    private final ActiveEmailIndex activeEmailIndex;
+    // evictions per stripe of user ids, see cacheUnlessEvicted
+    private final AtomicLongArray evictions = new AtomicLongArray(EVICTION_STRIPES);
+
+    /**
+     * Returns at most {@code limit} active users whose id is greater than {@code after}, ordered by id.
+     * The id of the last returned user is the cursor for the next page.
+     */
+    public List<UserDto> getAllUsers(long after, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
 
-    public List<UserDto> getAllUsers() {
-        return userRepository.findUsersByArchivedFalse().stream().map(this::toDto).collect(Collectors.toList());
+        return userRepository.findUserDtosByIdGreaterThan(after, Limit.of(limit));
     }
 
+    /**
+     * Streams every active user to the consumer in id order. Rows are fetched in bounded batches and
+     * projected straight into {@link UserDto}, so no entity is kept in the persistence context and
+     * memory use does not grow with the size of the table.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserDto> consumer) {
+        try (Stream<UserDto> users = userRepository.streamUsersByArchivedFalse()) {
+            users.forEach(consumer);
+        }
+    }
+
+    /**
+     * Returns the active user with the given id from the users cache, or from the database when it is not cached.
+     */
     public Optional<UserDto> getUser(Long id) {
-        final Optional<User> user = userRepository.findUserByIdAndArchivedFalse(id);
-        return user.map(this::toDto);
+        final Cache cache = cacheManager.getCache(USERS_CACHE);
+        final UserDto cached = cache.get(id, UserDto.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        final long evictionsBefore = evictions.get(stripe(id));
+        final Optional<UserDto> user = userRepository.findUserDtoById(id);
+        user.ifPresent(found -> cacheUnlessEvicted(cache, found, evictionsBefore));
+        return user;
     }
 
+    /**
+     * Returns the active users with the given ids, each once, in the order their ids first appear. Cached users
+     * come from the users cache; the rest are queried in chunks of {@code user-lookup.chunk-size} ids, which run
+     * concurrently on the {@link UserLookupExecutor} when there is more than one.
+     *
+     * @throws UserNotFoundException naming every id without an active user
+     */
     public List<UserDto> getUsers(List<Long> ids) {
 
         if (CollectionUtils.isEmpty(ids)) {
             throw new BadRequestException("At least one id should be provided");
         }
 
-        final List<User> users = userRepository.findUsersByIdInAndArchivedFalse(ids);
-        if (users.size() != ids.size()) {
-            throw new UserNotFoundException(ids.size() - users.size() + " users were not found");
+        final Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        final Cache cache = cacheManager.getCache(USERS_CACHE);
+        final Map<Long, UserDto> users = new HashMap<>();
+        final Map<Long, Long> evictionsBefore = new LinkedHashMap<>();
+        distinctIds.forEach(id -> {
+            final UserDto cached = cache.get(id, UserDto.class);
+            if (cached != null) {
+                users.put(id, cached);
+            } else {
+                evictionsBefore.put(id, evictions.get(stripe(id)));
+            }
+        });
+
+        if (!evictionsBefore.isEmpty()) {
+            findUsers(List.copyOf(evictionsBefore.keySet())).forEach(user -> {
+                cacheUnlessEvicted(cache, user, evictionsBefore.get(user.getId()));
+                users.put(user.getId(), user);
+            });
         }
 
-        return users.stream().map(this::toDto).collect(Collectors.toList());
+        if (users.size() != distinctIds.size()) {
+            final List<Long> missingIds = distinctIds.stream().filter(id -> !users.containsKey(id)).toList();
+            throw new UserNotFoundException("Users were not found with ids: " + missingIds);
+        }
+
+        return distinctIds.stream().map(users::get).collect(Collectors.toList());
     }
 
+    /**
+     * Stores the new user and queues its welcome email in the same transaction. The database is only asked
+     * whether the normalized email exists when the {@link ActiveEmailIndex} cannot rule it out; the unique
+     * index itself rejects a concurrent registration of the same email that slips past the check.
+     */
+    @Transactional
     public UserDto addUser(UserRegisterDto user) {
 
-        if (userRepository.findUserByEmailEqualsIgnoreCaseAndArchivedFalse(user.getEmail()) != null) {
+        final String email = User.normalizeEmail(user.getEmail());
+        if (activeEmailIndex.mightContain(email) && userRepository.existsByActiveEmail(email)) {
             throw new DuplicatedEmailException("User with provided email already exists");
         }
 
         final User newUser = toEntity(user);
         newUser.setArchived(false);
-        return toDto(userRepository.save(newUser));
+        final User savedUser = rejectingDuplicateEmails(() -> userRepository.saveAndFlush(newUser));
+        activeEmailIndex.add(email);
+
+        final UserDto addedUser = toDto(savedUser);
+        emailOutboxService.enqueueWelcomeEmail(addedUser);
+        return addedUser;
+    }
+
+    /**
+     * Stores up to {@value #MAX_BATCH_SIZE} new users and queues their welcome emails in one transaction.
+     * Emails the {@link ActiveEmailIndex} cannot rule out are looked up with a single query, and the inserts
+     * are sent as JDBC batches.
+     */
+    @Transactional
+    public List<UserDto> addUsers(List<UserRegisterDto> users) {
+
+        if (CollectionUtils.isEmpty(users)) {
+            throw new BadRequestException("At least one user must be provided");
+        }
+
+        if (users.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("At most " + MAX_BATCH_SIZE + " users can be registered at once");
+        }
+
+        final Set<String> emails = new HashSet<>();
+        if (!users.stream().map(user -> User.normalizeEmail(user.getEmail())).allMatch(emails::add)) {
+            throw new DuplicatedEmailException("Provided users contain duplicated emails");
+        }
+
+        final Set<String> candidateEmails = emails.stream().filter(activeEmailIndex::mightContain).collect(Collectors.toSet());
+        if (!candidateEmails.isEmpty()) {
+            final List<String> existingEmails = userRepository.findActiveEmailsByActiveEmailIn(candidateEmails);
+            if (!existingEmails.isEmpty()) {
+                throw new DuplicatedEmailException("Users with provided emails already exist: " + String.join(", ", existingEmails));
+            }
+        }
+
+        final List<User> newUsers = users.stream().map(this::toEntity).toList();
+        final List<UserDto> addedUsers = rejectingDuplicateEmails(() -> userRepository.saveAllAndFlush(newUsers))
+                .stream().map(UserService::toDto).collect(Collectors.toList());
+        emails.forEach(activeEmailIndex::add);
+        emailOutboxService.enqueueWelcomeEmails(addedUsers);
+        return addedUsers;
     }
 
+    @Transactional
     public void updateUser(UserUpdateDto user) {
 
         final Optional<User> userToUpdate = userRepository.findById(user.getId());
@@ -65,62 +211,160 @@ public class UserService {
 
         userToUpdate.get().setName(user.getName());
         userRepository.save(userToUpdate.get());
+        evictAll(List.of(user.getId()));
     }
 
+    /**
+     * Renames the given users in JDBC batches. If any id does not exist, nothing is updated.
+     */
+    @Transactional
     public void updateUsers(List<UserUpdateDto> users) {
 
         if (CollectionUtils.isEmpty(users)) {
             throw new BadRequestException("At least one user must be provided");
         }
 
-        final List<User> usersToUpdate = userRepository.findAllById(users.stream().map(UserUpdateDto::getId).collect(Collectors.toList()));
-        if (usersToUpdate.size() != users.size()) {
-            throw new UserNotFoundException(users.size() - usersToUpdate.size() + " users were not found");
+        if (users.stream().anyMatch(user -> user.getId() == null)) {
+            throw new BadRequestException("User id must be provided");
         }
 
-        usersToUpdate.forEach(user -> {
-            final Optional<UserUpdateDto> userDto = users.stream().filter(u -> u.getId().equals(user.getId())).findFirst();
-            userDto.ifPresent(userUpdateDto -> user.setName(userUpdateDto.getName()));
-        });
+        if (users.stream().anyMatch(user -> !StringUtils.hasText(user.getName()))) {
+            throw new BadRequestException("Name should have a value");
+        }
+
+        final Map<Long, String> namesById = users.stream().collect(Collectors.toMap(
+                UserUpdateDto::getId, UserUpdateDto::getName, (first, last) -> last, LinkedHashMap::new));
+        final int updated = userRepository.updateNames(namesById);
+        if (updated != namesById.size()) {
+            throw new UserNotFoundException(namesById.size() - updated + " users were not found");
+        }
 
-        userRepository.saveAll(usersToUpdate);
+        evictAll(namesById.keySet());
     }
 
+    @Transactional
     public void softDeleteUser(Long id) {
 
         if (id == null) {
             throw new BadRequestException("User id must be provided");
         }
 
-        final Optional<User> userToDelete = userRepository.findById(id);
-        if (userToDelete.isEmpty()) {
+        if (userRepository.archiveUsersByIdIn(List.of(id)) == 0) {
             throw new UserNotFoundException("User was not found");
         }
 
-        userToDelete.get().setArchived(true);
-        userRepository.save(userToDelete.get());
+        evictAll(List.of(id));
     }
 
+    /**
+     * Archives the given users with one update statement per chunk of {@value #DELETE_CHUNK_SIZE} ids.
+     * If any id does not exist, nothing is archived.
+     */
+    @Transactional
     public void softDeleteUsers(List<Long> userIds) {
 
         if (CollectionUtils.isEmpty(userIds)) {
             throw new BadRequestException("At least one user id must be provided");
         }
 
-        final List<User> usersToDelete = userRepository.findAllById(userIds);
-        if (usersToDelete.size() != userIds.size()) {
-            throw new UserNotFoundException(userIds.size() - usersToDelete.size() + " users were not found");
+        final List<Long> distinctIds = userIds.stream().distinct().toList();
+        int archived = 0;
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            archived += userRepository.archiveUsersByIdIn(
+                    distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size())));
+        }
+
+        if (archived != distinctIds.size()) {
+            throw new UserNotFoundException(distinctIds.size() - archived + " users were not found");
+        }
+
+        evictAll(distinctIds);
+    }
+
+    private List<UserDto> findUsers(List<Long> ids) {
+        final int chunkSize = applicationProperties.getUserLookup().getChunkSize();
+        if (ids.size() <= chunkSize) {
+            return userRepository.findUserDtosByIdIn(ids);
+        }
+
+        final List<Callable<List<UserDto>>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            final List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            chunks.add(() -> userRepository.findUserDtosByIdIn(chunk));
+        }
+        return userLookupExecutor.invokeAll(chunks).stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Evicts the given users once the current transaction has committed. Evicting before the commit would let a
+     * concurrent request that misses the cache read the old row and cache it again. A request that read the old
+     * row before the commit but caches it after the eviction is caught by {@link #cacheUnlessEvicted}.
+     */
+    private void evictAll(Collection<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictNow(ids);
+            }
+        });
+    }
+
+    private void evictNow(Collection<Long> ids) {
+        final Cache cache = cacheManager.getCache(USERS_CACHE);
+        ids.forEach(id -> {
+            evictions.incrementAndGet(stripe(id));
+            cache.evict(id);
+        });
+    }
+
+    /**
+     * Caches a user read from the database unless a user of its stripe was evicted since {@code evictionsBefore}
+     * was taken, before that read; the read may then have returned the row as it was before the commit. The
+     * evictions are checked again after the put, so an eviction that runs between the check and the put still
+     * removes the entry.
+     */
+    private void cacheUnlessEvicted(Cache cache, UserDto user, long evictionsBefore) {
+        final int stripe = stripe(user.getId());
+        if (evictions.get(stripe) != evictionsBefore) {
+            return;
+        }
+        cache.put(user.getId(), user);
+        if (evictions.get(stripe) != evictionsBefore) {
+            cache.evict(user.getId());
+        }
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (EVICTION_STRIPES - 1);
+    }
+
+    private <T> T rejectingDuplicateEmails(Supplier<T> save) {
+        try {
+            return save.get();
+        } catch (DataIntegrityViolationException exception) {
+            if (isActiveEmailViolation(exception)) {
+                throw new DuplicatedEmailException("User with provided email already exists");
+            }
+            throw exception;
         }
+    }
 
-        usersToDelete.forEach(user -> user.setArchived(true));
-        userRepository.saveAll(usersToDelete);
+    private boolean isActiveEmailViolation(DataIntegrityViolationException exception) {
+        return exception.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.ACTIVE_EMAIL_INDEX);
     }
 
-    private UserDto toDto(User entity) {
+    static UserDto toDto(User entity) {
         return new UserDto(
                 entity.getId(),
                 entity.getName(),
-                entity.getEmail());
+                entity.getEmail(),
+                entity.getVersion());
     }
 
     private User toEntity(UserRegisterDto dto) {
@@ -0,0 +1,27 @@
+package com.demo.usermanagementservice.tracing;
+
+import com.demo.servicecommon.FileSpanExporter;
+import com.demo.usermanagementservice.ApplicationProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Spans are handed to every {@link io.opentelemetry.sdk.trace.export.SpanExporter} bean. Setting
+ * {@code user-management-service.span-file} adds one that writes them to a local file; an OTLP exporter or
+ * an in-memory one in tests plugs in the same way.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    @ConditionalOnProperty("user-management-service.span-file")
+    public FileSpanExporter fileSpanExporter(ApplicationProperties applicationProperties, ObjectMapper objectMapper)
+            throws IOException {
+        return new FileSpanExporter(applicationProperties.getSpanFile(), objectMapper);
+    }
+
+}
@@ -1,9 +0,0 @@
-insert into USER_DETAIL(ID,EMAIL,NAME,ARCHIVED)
-values(1001, 'jo@demo.com', 'Jo', false);
-
-insert into USER_DETAIL(ID,EMAIL,NAME,ARCHIVED)
-values(1002, 'far@demo.com', 'Far',false);
-
-insert into USER_DETAIL(ID,EMAIL,NAME,ARCHIVED)
-values(1003, 'stu@demo.com', 'Stu',false);
-
@@ -0,0 +1,32 @@
+create sequence user_detail_seq start with 1 increment by 50;
+
+create table user_detail (
+    id           bigint       not null,
+    name         varchar(250) not null,
+    email        varchar(255),
+    active_email varchar(255),
+    archived     boolean      not null default false,
+    primary key (id)
+);
+
+-- active_email is the lower-cased email while the user is active and null once archived, so this
+-- index lets only one active user own an email and serves the duplicate check on registration.
+create unique index uk_user_detail_active_email on user_detail (active_email);
+
+-- Serves the archived = false filters, including the id-ordered pages of GET /api/v1/users.
+create index idx_user_detail_archived_id on user_detail (archived, id);
+
+create sequence email_outbox_seq start with 1 increment by 50;
+
+create table email_outbox (
+    id              bigint                      not null,
+    email_from      varchar(255)                not null,
+    email_to        varchar(255)                not null,
+    subject         varchar(255)                not null,
+    text            varchar(4000)               not null,
+    attempts        integer                     not null default 0,
+    next_attempt_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create index idx_email_outbox_next_attempt_at on email_outbox (next_attempt_at, id);
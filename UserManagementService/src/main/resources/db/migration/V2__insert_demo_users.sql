@@ -0,0 +1,8 @@
+insert into USER_DETAIL(ID,EMAIL,ACTIVE_EMAIL,NAME,ARCHIVED)
+values(1001, 'jo@demo.com', 'jo@demo.com', 'Jo', false);
+
+insert into USER_DETAIL(ID,EMAIL,ACTIVE_EMAIL,NAME,ARCHIVED)
+values(1002, 'far@demo.com', 'far@demo.com', 'Far',false);
+
+insert into USER_DETAIL(ID,EMAIL,ACTIVE_EMAIL,NAME,ARCHIVED)
+values(1003, 'stu@demo.com', 'stu@demo.com', 'Stu',false);
@@ -0,0 +1,2 @@
+-- Hand out user ids in blocks of 100 (User.ID_ALLOCATION_SIZE) and start above the demo users' ids.
+alter sequence user_detail_seq restart with 2000 increment by 100;
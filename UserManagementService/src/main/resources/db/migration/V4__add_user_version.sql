@@ -0,0 +1,3 @@
+-- Optimistic-lock version of User, incremented on every change. GET /api/v1/users and /api/v1/users/{id}
+-- derive their ETags from it.
+alter table user_detail add column version bigint not null default 0;
@@ -0,0 +1,49 @@
+package com.demo.usermanagementservice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "prod"})
+public class ProdProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    public void testProdProfile_OnlyApiBeansAreCreatedAtStartup() {
+        assertTrue(beanFactory.containsSingleton("userController"));
+        assertTrue(beanFactory.containsSingleton("userService"));
+        assertFalse(beanFactory.containsSingleton("userManagementApiCustomiser"));
+    }
+
+    @Test
+    public void testProdProfile_GetUser() throws Exception {
+        mockMvc.perform(get("/api/v1/users/1001").with(httpBasic("demo", "pass")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.full-name").value("Jo"));
+    }
+
+    @Test
+    public void testProdProfile_NoSwagger() throws Exception {
+        mockMvc.perform(get("/v3/api-docs").with(httpBasic("demo", "pass")))
+                .andExpect(status().isNotFound());
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.demo.usermanagementservice;
+
+import com.demo.usermanagementservice.dto.EmailStatusDto;
+import com.demo.usermanagementservice.dto.UserDto;
+import com.demo.usermanagementservice.exception.CustomExceptionDetail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserManagementServiceRuntimeHintsUnitTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    public void setUp() {
+        new UserManagementServiceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    public void testRegisterHints_LombokAccessorsAndConstructors() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(UserDto.class.getMethod("getName")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(UserDto.class.getMethod("setName", String.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(UserDto.class.getConstructor()).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(EmailStatusDto.class.getMethod("getEmailTo")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(CustomExceptionDetail.class.getMethod("getErrorCode")).test(hints));
+    }
+
+    @Test
+    public void testRegisterHints_JacksonXml() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/javax.xml.stream.XMLInputFactory").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("com.ctc.wstx.stax.WstxInputFactory")).test(hints));
+    }
+
+    @Test
+    public void testRegisterHints_SwaggerUi() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/resources/webjars/swagger-ui/5.17.14/index.html").test(hints));
+    }
+
+}
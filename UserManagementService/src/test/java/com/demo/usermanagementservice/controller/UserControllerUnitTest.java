@@ -5,24 +5,31 @@ import com.demo.usermanagementservice.dto.UserDto;
 import com.demo.usermanagementservice.dto.UserRegisterDto;
 import com.demo.usermanagementservice.dto.UserUpdateDto;
 import com.demo.usermanagementservice.service.UserService;
-import jakarta.ws.rs.core.MediaType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -30,6 +37,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -57,15 +65,74 @@ public class UserControllerUnitTest {
         UserDto user1 = new UserDto(1L, "Alex", "alex@demo.com");
         UserDto user2 = new UserDto(2L, "Mary", "mary@demo.com");
 
-        when(userService.getAllUsers()).thenReturn(List.of(user1, user2));
+        when(userService.getAllUsers(0L, 100)).thenReturn(List.of(user1, user2));
 
         mockMvc.perform(get("/api/v1/users").with(httpBasic(username, password)))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist("Link"))
                 .andExpect(jsonPath("$[0].full-name").value("Alex"))
                 .andExpect(jsonPath("$[1].full-name").value("Mary"));
     }
 
+    @Test
+    public void testGetAllUsers_NextPageLink() throws Exception {
+        UserDto user1 = new UserDto(1L, "Alex", "alex@demo.com");
+        UserDto user2 = new UserDto(2L, "Mary", "mary@demo.com");
+
+        when(userService.getAllUsers(0L, 2)).thenReturn(List.of(user1, user2));
+
+        mockMvc.perform(get("/api/v1/users").param("limit", "2").with(httpBasic(username, password)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", "<http://localhost/api/v1/users?after=2&limit=2>; rel=\"next\""))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    public void testGetAllUsers_NotModified() throws Exception {
+        UserDto user1 = new UserDto(1L, "Alex", "alex@demo.com", 0);
+        UserDto user2 = new UserDto(2L, "Mary", "mary@demo.com", 3);
+
+        when(userService.getAllUsers(0L, 100)).thenReturn(List.of(user1, user2));
+
+        String eTag = mockMvc.perform(get("/api/v1/users").with(httpBasic(username, password)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/users").header("If-None-Match", eTag).with(httpBasic(username, password)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        user2.setVersion(4);
+        mockMvc.perform(get("/api/v1/users").header("If-None-Match", eTag).with(httpBasic(username, password)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamAllUsers() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserDto> consumer = invocation.getArgument(0);
+            consumer.accept(new UserDto(1L, "Alex", "alex@demo.com"));
+            consumer.accept(new UserDto(2L, "Mary", "mary@demo.com"));
+            return null;
+        }).when(userService).streamAllUsers(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/users")
+                        .accept("application/x-ndjson")
+                        .with(httpBasic(username, password)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1,\"email\":\"alex@demo.com\",\"full-name\":\"Alex\"}\n"
+                        + "{\"id\":2,\"email\":\"mary@demo.com\",\"full-name\":\"Mary\"}\n"));
+    }
+
     @Test
     public void testGetUser() throws Exception {
         UserDto user = new UserDto(1L, "Alex", "alex@demo.com");
@@ -78,6 +145,46 @@ public class UserControllerUnitTest {
                 .andExpect(jsonPath("$.full-name").value("Alex"));
     }
 
+    @Test
+    public void testGetUser_ETag() throws Exception {
+        UserDto user = new UserDto(1L, "Alex", "alex@demo.com", 3);
+
+        when(userService.getUser(1L)).thenReturn(Optional.of(user));
+
+        mockMvc.perform(get("/api/v1/users/{id}", 1L).with(httpBasic(username, password)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/users/{id}", 1L).header("If-None-Match", "W/\"3\"").with(httpBasic(username, password)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/v1/users/{id}", 1L).header("If-None-Match", "W/\"2\"").with(httpBasic(username, password)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.full-name").value("Alex"));
+    }
+
+    @Test
+    public void testGetUsers_Cbor() throws Exception {
+        when(userService.getUsers(List.of(1L, 2L))).thenReturn(List.of(new UserDto(1L, "Alex", "alex@demo.com"),
+                new UserDto(2L, "Mary", "mary@demo.com")));
+
+        byte[] body = mockMvc.perform(post("/api/v1/users")
+                        .with(httpBasic(username, password))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept("application/cbor")
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<UserDto> users = new CBORMapper().readValue(body, new TypeReference<>() {
+        });
+        assertEquals(List.of(1L, 2L), users.stream().map(UserDto::getId).toList());
+        assertEquals("Mary", users.get(1).getName());
+    }
+
     @Test
     public void testGetUser_UserNotFound() throws Exception {
         when(userService.getUser(1L)).thenReturn(Optional.empty());
@@ -101,6 +208,30 @@ public class UserControllerUnitTest {
                 .andExpect(header().string("Location", "http://localhost/api/v1/users/register/1"));
     }
 
+    @Test
+    public void testRegisterAll() throws Exception {
+        when(userService.addUsers(anyList())).thenReturn(List.of(new UserDto(1L, "Alex", "alex@demo.com"),
+                new UserDto(2L, "Mary", "mary@demo.com")));
+
+        mockMvc.perform(post("/api/v1/users/register/batch")
+                        .with(httpBasic(username, password))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"full-name\": \"Alex\", \"email\": \"alex@demo.com\"}, "
+                                + "{\"full-name\": \"Mary\", \"email\": \"mary@demo.com\"}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    public void testRegisterAll_InvalidUser() throws Exception {
+        mockMvc.perform(post("/api/v1/users/register/batch")
+                        .with(httpBasic(username, password))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"full-name\": \"Alex\", \"email\": \"not-an-email\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Errors: Email format is not valid"));
+    }
+
     @Test
     public void testUpdateUser() throws Exception {
 
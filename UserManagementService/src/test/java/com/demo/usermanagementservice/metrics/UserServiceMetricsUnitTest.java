@@ -0,0 +1,85 @@
+package com.demo.usermanagementservice.metrics;
+
+import com.demo.usermanagementservice.exception.BadRequestException;
+import com.demo.usermanagementservice.exception.DuplicatedEmailException;
+import com.demo.usermanagementservice.exception.UserNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserServiceMetricsUnitTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UserServiceMetrics userServiceMetrics = new UserServiceMetrics(meterRegistry);
+
+    @BeforeEach
+    public void setUp() {
+        when(joinPoint.getSignature()).thenReturn(signature);
+    }
+
+    @Test
+    public void testTime_Success() throws Throwable {
+        when(signature.getName()).thenReturn("getUsers");
+        when(joinPoint.proceed()).thenReturn(List.of());
+
+        userServiceMetrics.time(joinPoint);
+
+        assertEquals(1, count("getUsers", "success"));
+    }
+
+    @Test
+    public void testTime_EmptyOptionalIsNotFound() throws Throwable {
+        when(signature.getName()).thenReturn("getUser");
+        when(joinPoint.proceed()).thenReturn(Optional.empty());
+
+        userServiceMetrics.time(joinPoint);
+
+        assertEquals(1, count("getUser", "not-found"));
+    }
+
+    @Test
+    public void testTime_ExceptionsAreTaggedByOutcome() throws Throwable {
+        when(signature.getName()).thenReturn("addUser");
+        when(joinPoint.proceed())
+                .thenThrow(new DuplicatedEmailException("User with provided email already exists"))
+                .thenThrow(new BadRequestException("At least one user must be provided"))
+                .thenThrow(new UserNotFoundException("User was not found"))
+                .thenThrow(new IllegalStateException("Database is down"));
+
+        assertThrows(DuplicatedEmailException.class, () -> userServiceMetrics.time(joinPoint));
+        assertThrows(BadRequestException.class, () -> userServiceMetrics.time(joinPoint));
+        assertThrows(UserNotFoundException.class, () -> userServiceMetrics.time(joinPoint));
+        assertThrows(IllegalStateException.class, () -> userServiceMetrics.time(joinPoint));
+
+        assertEquals(1, count("addUser", "duplicate"));
+        assertEquals(1, count("addUser", "bad-request"));
+        assertEquals(1, count("addUser", "not-found"));
+        assertEquals(1, count("addUser", "error"));
+    }
+
+    private long count(String method, String outcome) {
+        return meterRegistry.get(UserServiceMetrics.TIMER).tag("method", method).tag("outcome", outcome).timer().count();
+    }
+
+}
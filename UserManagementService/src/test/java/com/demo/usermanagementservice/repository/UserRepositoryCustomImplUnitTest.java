@@ -0,0 +1,87 @@
+package com.demo.usermanagementservice.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserRepositoryCustomImplUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private UserRepositoryCustomImpl userRepositoryCustom;
+
+    private final Map<Long, String> namesById = new LinkedHashMap<>(Map.of(1L, "Alex", 2L, "Sam", 3L, "Jo"));
+
+    @Test
+    public void testUpdateNames_SumsUpdateCounts() {
+        when(jdbcTemplate.batchUpdate(anyString(), eq(namesById.entrySet()), anyInt(), any()))
+                .thenReturn(new int[][]{{1, 0}, {1}});
+
+        assertEquals(2, userRepositoryCustom.updateNames(namesById));
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+    }
+
+    @Test
+    public void testUpdateNames_CountsUnknown_CountsTheUsers() {
+        when(jdbcTemplate.batchUpdate(anyString(), eq(namesById.entrySet()), anyInt(), any()))
+                .thenReturn(new int[][]{{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO}});
+        when(jdbcTemplate.queryForObject(eq("select count(*) from USER_DETAIL where id in (?, ?, ?)"), eq(Integer.class),
+                any(Object[].class))).thenReturn(3);
+
+        assertEquals(3, userRepositoryCustom.updateNames(namesById));
+    }
+
+    @Test
+    public void testUpdateNames_CountsUnknown_CountsTheUsersInChunksOf1000() {
+        final Map<Long, String> manyNamesById = new LinkedHashMap<>();
+        LongStream.rangeClosed(1, 2500).forEach(id -> manyNamesById.put(id, "User " + id));
+        final int[] unknownCounts = new int[1000];
+        Arrays.fill(unknownCounts, Statement.SUCCESS_NO_INFO);
+        when(jdbcTemplate.batchUpdate(anyString(), eq(manyNamesById.entrySet()), anyInt(), any()))
+                .thenReturn(new int[][]{unknownCounts, unknownCounts, Arrays.copyOf(unknownCounts, 500)});
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class)))
+                .thenAnswer(invocation -> invocation.getArguments().length - 2);
+
+        assertEquals(2500, userRepositoryCustom.updateNames(manyNamesById));
+
+        final ArgumentCaptor<String> queries = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).queryForObject(queries.capture(), eq(Integer.class), any(Object[].class));
+        assertEquals(List.of(1000L, 1000L, 500L), queries.getAllValues().stream()
+                .map(query -> query.chars().filter(character -> character == '?').count()).toList());
+    }
+
+    @Test
+    public void testUpdateNames_FailedUpdate_Throws() {
+        when(jdbcTemplate.batchUpdate(anyString(), eq(namesById.entrySet()), anyInt(), any()))
+                .thenReturn(new int[][]{{1, Statement.EXECUTE_FAILED, 1}});
+
+        assertThrows(IllegalStateException.class, () -> userRepositoryCustom.updateNames(namesById));
+    }
+
+}
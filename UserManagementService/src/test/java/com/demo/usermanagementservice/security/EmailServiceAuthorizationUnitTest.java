@@ -0,0 +1,90 @@
+package com.demo.usermanagementservice.security;
+
+import com.demo.usermanagementservice.ApplicationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class EmailServiceAuthorizationUnitTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    @BeforeEach
+    public void setUp() {
+        applicationProperties.setEmailServiceAuthHeader("Basic ZGVtbzppbnRlcm5hbA==");
+        applicationProperties.getEmailServiceToken().setSecret("test-secret");
+        applicationProperties.getEmailServiceToken().setTtl(Duration.ofMinutes(10));
+    }
+
+    @Test
+    public void testHeader_SignedToken() throws Exception {
+        String header = authorization(NOW).header();
+
+        String payload = EmailServiceAuthorization.ISSUER + "." + NOW.plus(Duration.ofMinutes(10)).getEpochSecond();
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("test-secret".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("Bearer " + payload + "." + signature, header);
+    }
+
+    @Test
+    public void testHeader_TokenIsReusedUntilHalfOfTtl() {
+        MutableClock clock = new MutableClock(NOW);
+        EmailServiceAuthorization authorization = new EmailServiceAuthorization(applicationProperties, clock);
+        String first = authorization.header();
+
+        clock.instant = NOW.plus(Duration.ofMinutes(4));
+        assertEquals(first, authorization.header());
+
+        clock.instant = NOW.plus(Duration.ofMinutes(5));
+        assertNotEquals(first, authorization.header());
+    }
+
+    @Test
+    public void testHeader_NoSecretFallsBackToBasic() {
+        applicationProperties.getEmailServiceToken().setSecret(null);
+
+        assertEquals("Basic ZGVtbzppbnRlcm5hbA==", authorization(NOW).header());
+    }
+
+    private EmailServiceAuthorization authorization(Instant now) {
+        return new EmailServiceAuthorization(applicationProperties, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.demo.usermanagementservice.service;
+
+import com.demo.usermanagementservice.ApplicationProperties;
+import com.demo.usermanagementservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ActiveEmailIndexUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ActiveEmailIndex activeEmailIndex;
+
+    @BeforeEach
+    public void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getEmailIndex().setExpectedEmails(10_000);
+        activeEmailIndex = new ActiveEmailIndex(applicationProperties, userRepository);
+    }
+
+    @Test
+    public void testMightContain_EverythingBeforeWarmUp() {
+        assertTrue(activeEmailIndex.mightContain("alex@demo.com"));
+    }
+
+    @Test
+    public void testWarmUp() {
+        when(userRepository.streamActiveEmails()).thenReturn(Stream.of("alex@demo.com", "mary@demo.com"));
+
+        activeEmailIndex.warmUp();
+
+        assertTrue(activeEmailIndex.mightContain("alex@demo.com"));
+        assertTrue(activeEmailIndex.mightContain("mary@demo.com"));
+        assertFalse(activeEmailIndex.mightContain("john@demo.com"));
+    }
+
+    @Test
+    public void testAdd() {
+        when(userRepository.streamActiveEmails()).thenReturn(Stream.empty());
+        activeEmailIndex.warmUp();
+
+        activeEmailIndex.add("john@demo.com");
+
+        assertTrue(activeEmailIndex.mightContain("john@demo.com"));
+    }
+
+    @Test
+    public void testMightContain_FalsePositiveRateAtExpectedSize() {
+        when(userRepository.streamActiveEmails())
+                .thenReturn(IntStream.range(0, 10_000).mapToObj(i -> "user" + i + "@demo.com"));
+        activeEmailIndex.warmUp();
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> activeEmailIndex.mightContain("other" + i + "@demo.com"))
+                .count();
+
+        assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+    }
+    @Test
+    public void testInvalidConfiguration() {
+        for (double probability : new double[]{0, -0.1, 1, 1.5, Double.NaN}) {
+            ApplicationProperties applicationProperties = new ApplicationProperties();
+            applicationProperties.getEmailIndex().setFalsePositiveProbability(probability);
+            assertThrows(IllegalArgumentException.class, () -> new ActiveEmailIndex(applicationProperties, userRepository));
+        }
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getEmailIndex().setExpectedEmails(0);
+        assertThrows(IllegalArgumentException.class, () -> new ActiveEmailIndex(applicationProperties, userRepository));
+    }
+
+}
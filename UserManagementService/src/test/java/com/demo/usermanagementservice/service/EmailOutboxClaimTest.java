@@ -0,0 +1,99 @@
+package com.demo.usermanagementservice.service;
+
+import com.demo.usermanagementservice.model.OutboxEmail;
+import com.demo.usermanagementservice.repository.OutboxEmailRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Claims outbox emails the way instances running side by side do. The dispatcher is scheduled once an hour here,
+ * so it does not claim the emails of these tests itself.
+ */
+@SpringBootTest(properties = "user-management-service.email-outbox.poll-interval=PT1H")
+@ActiveProfiles("test")
+public class EmailOutboxClaimTest {
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    public void setUp() {
+        final Instant now = Instant.now();
+        ids = outboxEmailRepository.saveAll(List.of(
+                new OutboxEmail("from@demo.com", "alex@demo.com", "Welcome", "Hi", now),
+                new OutboxEmail("from@demo.com", "mary@demo.com", "Welcome", "Hi", now))).stream()
+                .map(OutboxEmail::getId).toList();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        outboxEmailRepository.deleteAllById(ids);
+    }
+
+    @Test
+    public void testClaimDueEmails_ClaimedEmailsAreNotClaimedAgain() {
+        final List<OutboxEmail> claimed = emailOutboxService.claimDueEmails();
+
+        assertTrue(ids(claimed).containsAll(ids));
+        assertTrue(claimed.stream().allMatch(email -> email.getNextAttemptAt().isAfter(Instant.now())));
+        assertTrue(outboxEmailRepository.findAllById(ids).stream()
+                .allMatch(email -> email.getNextAttemptAt().isAfter(Instant.now())));
+        assertFalse(ids(emailOutboxService.claimDueEmails()).stream().anyMatch(ids::contains));
+    }
+
+    @Test
+    public void testClaimDueEmails_ConcurrentClaimsNeverShareAnEmail() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<CompletableFuture<List<OutboxEmail>>> claims = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return emailOutboxService.claimDueEmails();
+                }))
+                .toList();
+        start.countDown();
+
+        final List<Long> claimed = new ArrayList<>();
+        for (CompletableFuture<List<OutboxEmail>> claim : claims) {
+            claimed.addAll(ids(claim.get(10, TimeUnit.SECONDS)));
+        }
+
+        assertEquals(ids.size(), claimed.stream().filter(ids::contains).count());
+        assertEquals(Set.copyOf(ids), claimed.stream().filter(ids::contains).collect(Collectors.toSet()));
+    }
+
+    private static List<Long> ids(List<OutboxEmail> emails) {
+        return emails.stream().map(OutboxEmail::getId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
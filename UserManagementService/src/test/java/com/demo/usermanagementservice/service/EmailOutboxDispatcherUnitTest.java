@@ -0,0 +1,120 @@
+package com.demo.usermanagementservice.service;
+
+import com.demo.usermanagementservice.ApplicationProperties;
+import com.demo.usermanagementservice.EmailServiceApi;
+import com.demo.usermanagementservice.dto.EmailStatusDto;
+import com.demo.usermanagementservice.model.OutboxEmail;
+import com.demo.usermanagementservice.repository.OutboxEmailRepository;
+import com.demo.usermanagementservice.security.EmailServiceAuthorization;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxDispatcherUnitTest {
+
+    @Mock
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    @Mock
+    private EmailServiceApi emailServiceApi;
+
+    @Spy
+    private ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    @Spy
+    private CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    @Mock
+    private EmailServiceAuthorization emailServiceAuthorization;
+
+    @InjectMocks
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Test
+    public void testDispatch_NothingDue() {
+        when(emailOutboxService.claimDueEmails()).thenReturn(List.of());
+
+        emailOutboxDispatcher.dispatch();
+
+        verifyNoInteractions(emailServiceApi);
+    }
+
+    @Test
+    public void testDispatch_DeliveredEmailsAreRemovedAndFailedRescheduled() {
+        Instant before = Instant.now();
+        OutboxEmail delivered = new OutboxEmail("from@demo.com", "alex@demo.com", "Welcome", "Hi", before);
+        OutboxEmail failed = new OutboxEmail("from@demo.com", "mary@demo.com", "Welcome", "Hi", before);
+        when(emailOutboxService.claimDueEmails()).thenReturn(List.of(delivered, failed));
+        when(emailServiceApi.sendTextEmails(anyList(), any())).thenReturn(List.of(
+                new EmailStatusDto("alex@demo.com", EmailStatusDto.Status.SENT, null),
+                new EmailStatusDto("mary@demo.com", EmailStatusDto.Status.FAILED, "Mailbox unavailable")));
+
+        emailOutboxDispatcher.dispatch();
+
+        verify(outboxEmailRepository).deleteAllInBatch(List.of(delivered));
+        verify(outboxEmailRepository).saveAll(List.of(failed));
+        assertEquals(0, delivered.getAttempts());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getNextAttemptAt().isAfter(before.plusSeconds(4)));
+    }
+
+    @Test
+    public void testDispatch_UnreachableEmailServiceReschedulesBatch() {
+        Instant before = Instant.now();
+        OutboxEmail email = new OutboxEmail("from@demo.com", "alex@demo.com", "Welcome", "Hi", before);
+        when(emailOutboxService.claimDueEmails()).thenReturn(List.of(email));
+        doThrow(new RuntimeException("Email service unavailable")).when(emailServiceApi).sendTextEmails(anyList(), any());
+
+        emailOutboxDispatcher.dispatch();
+
+        assertEquals(1, email.getAttempts());
+        verify(outboxEmailRepository).saveAll(List.of(email));
+        verify(outboxEmailRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    public void testDispatch_OpenCircuitReleasesClaimWithoutAttempt() {
+        Instant claimedUntil = Instant.now().plus(Duration.ofMinutes(1));
+        OutboxEmail email = new OutboxEmail("from@demo.com", "alex@demo.com", "Welcome", "Hi", claimedUntil);
+        when(emailOutboxService.claimDueEmails()).thenReturn(List.of(email));
+        circuitBreakerRegistry.circuitBreaker(EmailOutboxDispatcher.EMAIL_SERVICE).transitionToOpenState();
+
+        emailOutboxDispatcher.dispatch();
+
+        verifyNoInteractions(emailServiceApi);
+        assertEquals(0, email.getAttempts());
+        assertFalse(email.getNextAttemptAt().isAfter(Instant.now()));
+        verify(outboxEmailRepository).saveAll(List.of(email));
+        verify(outboxEmailRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    public void testBackoff() {
+        assertEquals(Duration.ofSeconds(5), emailOutboxDispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(20), emailOutboxDispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(30), emailOutboxDispatcher.backoff(50));
+    }
+}
@@ -0,0 +1,157 @@
+package com.demo.usermanagementservice.service;
+
+import com.demo.usermanagementservice.dto.UserDto;
+import com.demo.usermanagementservice.dto.UserUpdateDto;
+import com.demo.usermanagementservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * A request that misses the users cache while a change is not committed yet reads the old row. These tests make
+ * that request from inside the transaction and check that the users cache does not keep the old row once the
+ * transaction has committed, also when the request only caches the old row after the eviction.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserCacheEvictionTest {
+    private static final long FIRST_ID = 901;
+    private static final long SECOND_ID = 902;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    private final CountDownLatch read = new CountDownLatch(1);
+    private final CountDownLatch committed = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("insert into USER_DETAIL(ID, EMAIL, ACTIVE_EMAIL, NAME, ARCHIVED) values (?, ?, ?, ?, false)",
+                FIRST_ID, "cache-first@demo.com", "cache-first@demo.com", "First");
+        jdbcTemplate.update("insert into USER_DETAIL(ID, EMAIL, ACTIVE_EMAIL, NAME, ARCHIVED) values (?, ?, ?, ?, false)",
+                SECOND_ID, "cache-second@demo.com", "cache-second@demo.com", "Second");
+        cacheManager.getCache(UserService.USERS_CACHE).clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("delete from USER_DETAIL where ID in (?, ?)", FIRST_ID, SECOND_ID);
+    }
+
+    @Test
+    public void testSoftDeleteUser_ConcurrentReadBeforeCommit_ArchivedUserIsNotCached() {
+        userService.getUser(FIRST_ID);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.softDeleteUser(FIRST_ID);
+            getUserConcurrently(FIRST_ID);
+        });
+
+        assertTrue(userService.getUser(FIRST_ID).isEmpty());
+    }
+
+    @Test
+    public void testSoftDeleteUsers_ConcurrentReadBeforeCommit_ArchivedUsersAreNotCached() {
+        userService.getUsers(List.of(FIRST_ID, SECOND_ID));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.softDeleteUsers(List.of(FIRST_ID, SECOND_ID));
+            getUserConcurrently(FIRST_ID);
+            getUserConcurrently(SECOND_ID);
+        });
+
+        assertTrue(userService.getUser(FIRST_ID).isEmpty());
+        assertTrue(userService.getUser(SECOND_ID).isEmpty());
+    }
+
+    @Test
+    public void testUpdateUsers_ConcurrentReadBeforeCommit_RenamedUsersAreNotCachedWithTheirOldNames() {
+        final UserDto before = userService.getUser(FIRST_ID).orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUsers(List.of(new UserUpdateDto(FIRST_ID, "First Renamed"),
+                    new UserUpdateDto(SECOND_ID, "Second Renamed")));
+            getUserConcurrently(FIRST_ID);
+        });
+
+        final UserDto after = userService.getUser(FIRST_ID).orElseThrow();
+        assertEquals("First Renamed", after.getName());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals("Second Renamed", userService.getUser(SECOND_ID).orElseThrow().getName());
+    }
+
+    @Test
+    public void testGetUser_ReadBeforeCommitCachedAfterEviction_ArchivedUserIsNotCached() throws Exception {
+        final Optional<UserDto> oldRow = userRepository.findUserDtoById(FIRST_ID);
+        doAnswer(invocation -> pauseAfterRead(oldRow)).when(userRepository).findUserDtoById(FIRST_ID);
+        final CompletableFuture<Optional<UserDto>> lookup = CompletableFuture.supplyAsync(() -> userService.getUser(FIRST_ID));
+        assertTrue(read.await(10, TimeUnit.SECONDS));
+
+        transactionTemplate.executeWithoutResult(status -> userService.softDeleteUser(FIRST_ID));
+        committed.countDown();
+
+        assertTrue(lookup.get(10, TimeUnit.SECONDS).isPresent());
+        assertNull(cacheManager.getCache(UserService.USERS_CACHE).get(FIRST_ID));
+    }
+
+    @Test
+    public void testGetUsers_ReadBeforeCommitCachedAfterEviction_RenamedUsersAreNotCachedWithTheirOldNames() throws Exception {
+        final List<UserDto> oldRows = userRepository.findUserDtosByIdIn(List.of(FIRST_ID, SECOND_ID));
+        doAnswer(invocation -> pauseAfterRead(oldRows)).when(userRepository).findUserDtosByIdIn(List.of(FIRST_ID, SECOND_ID));
+        final CompletableFuture<List<UserDto>> lookup = CompletableFuture.supplyAsync(
+                () -> userService.getUsers(List.of(FIRST_ID, SECOND_ID)));
+        assertTrue(read.await(10, TimeUnit.SECONDS));
+
+        transactionTemplate.executeWithoutResult(status -> userService.updateUsers(
+                List.of(new UserUpdateDto(FIRST_ID, "First Renamed"), new UserUpdateDto(SECOND_ID, "Second Renamed"))));
+        committed.countDown();
+
+        assertEquals("First", lookup.get(10, TimeUnit.SECONDS).get(0).getName());
+        assertEquals("First Renamed", userService.getUser(FIRST_ID).orElseThrow().getName());
+        assertEquals("Second Renamed", userService.getUser(SECOND_ID).orElseThrow().getName());
+    }
+
+    /**
+     * Answers a lookup with the rows it read before the change, once the change has committed and evicted the cache.
+     */
+    private Object pauseAfterRead(Object rows) throws InterruptedException {
+        read.countDown();
+        committed.await(10, TimeUnit.SECONDS);
+        return rows;
+    }
+
+    private void getUserConcurrently(long id) {
+        CompletableFuture.runAsync(() -> userService.getUser(id)).join();
+    }
+
+}
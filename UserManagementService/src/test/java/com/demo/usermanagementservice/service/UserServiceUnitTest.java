@@ -5,6 +5,7 @@ package com.demo.usermanagementservice.service;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.demo.usermanagementservice.ApplicationProperties;
 import com.demo.usermanagementservice.dto.UserDto;
 import com.demo.usermanagementservice.dto.UserRegisterDto;
 import com.demo.usermanagementservice.dto.UserUpdateDto;
@@ -13,13 +14,22 @@ import com.demo.usermanagementservice.exception.DuplicatedEmailException;
 import com.demo.usermanagementservice.exception.UserNotFoundException;
 import com.demo.usermanagementservice.model.User;
 import com.demo.usermanagementservice.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.sql.SQLException;
 import java.util.*;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 public class UserServiceUnitTest {
@@ -27,25 +37,66 @@ public class UserServiceUnitTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(UserService.USERS_CACHE);
+
+    @Spy
+    private ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    @Spy
+    private UserLookupExecutor userLookupExecutor = new UserLookupExecutor(new ApplicationProperties());
+
+    @Spy
+    private ActiveEmailIndex activeEmailIndex = new ActiveEmailIndex(new ApplicationProperties(), null);
+
     @InjectMocks
     private UserService userService;
 
+    @AfterEach
+    public void tearDown() {
+        userLookupExecutor.destroy();
+    }
+
     @Test
     public void testGetAllUsers() {
-        List<User> users = Arrays.asList(new User(1L, "Alex", "alex@demo.com", false),
-                new User(2L, "Mary", "mary@demo.com", false));
-        when(userRepository.findUsersByArchivedFalse()).thenReturn(users);
+        List<UserDto> users = Arrays.asList(new UserDto(1L, "Alex", "alex@demo.com"),
+                new UserDto(2L, "Mary", "mary@demo.com"));
+        when(userRepository.findUserDtosByIdGreaterThan(0L, Limit.of(10))).thenReturn(users);
 
-        List<UserDto> result = userService.getAllUsers();
+        List<UserDto> result = userService.getAllUsers(0L, 10);
 
         assertEquals(2, result.size());
         assertEquals("Alex", result.get(0).getName());
     }
 
+    @Test
+    public void testGetAllUsers_LimitOutOfRange() {
+        Exception exception = assertThrows(BadRequestException.class, () -> userService.getAllUsers(0L, 0));
+        assertEquals("Limit must be between 1 and 1000", exception.getMessage());
+
+        assertThrows(BadRequestException.class, () -> userService.getAllUsers(0L, UserService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void testStreamAllUsers() {
+        UserDto user1 = new UserDto(1L, "Alex", "alex@demo.com");
+        UserDto user2 = new UserDto(2L, "Mary", "mary@demo.com");
+        when(userRepository.streamUsersByArchivedFalse()).thenReturn(Stream.of(user1, user2));
+
+        List<UserDto> result = new ArrayList<>();
+        userService.streamAllUsers(result::add);
+
+        assertEquals(List.of(user1, user2), result);
+    }
+
     @Test
     public void testGetUser() {
-        User user = new User(1L, "Alex", "alex@demo.com", false);
-        when(userRepository.findUserByIdAndArchivedFalse(1L)).thenReturn(Optional.of(user));
+        UserDto user = new UserDto(1L, "Alex", "alex@demo.com");
+        when(userRepository.findUserDtoById(1L)).thenReturn(Optional.of(user));
 
         Optional<UserDto> result = userService.getUser(1L);
 
@@ -55,7 +106,7 @@ public class UserServiceUnitTest {
 
     @Test
     public void testGetUser_UserNotFound() {
-        when(userRepository.findUserByIdAndArchivedFalse(1L)).thenReturn(Optional.empty());
+        when(userRepository.findUserDtoById(1L)).thenReturn(Optional.empty());
 
         Optional<UserDto> result = userService.getUser(1L);
 
@@ -65,9 +116,9 @@ public class UserServiceUnitTest {
     @Test
     public void testGetUsers_WithValidIds() {
         List<Long> ids = Arrays.asList(1L, 2L);
-        User user1 = new User(1L, "Alex", "alex@demo.com", false);
-        User user2 = new User(2L, "Mary", "mary@demo.com", false);
-        when(userRepository.findUsersByIdInAndArchivedFalse(ids)).thenReturn(Arrays.asList(user1, user2));
+        UserDto user1 = new UserDto(1L, "Alex", "alex@demo.com");
+        UserDto user2 = new UserDto(2L, "Mary", "mary@demo.com");
+        when(userRepository.findUserDtosByIdIn(ids)).thenReturn(Arrays.asList(user1, user2));
 
         List<UserDto> result = userService.getUsers(ids);
 
@@ -76,16 +127,61 @@ public class UserServiceUnitTest {
         assertEquals("Mary", result.get(1).getName());
     }
 
+    @Test
+    public void testGetUsers_PartiallyCached() {
+        UserDto cachedUser = new UserDto(2L, "Mary", "mary@demo.com");
+        cacheManager.getCache(UserService.USERS_CACHE).put(2L, cachedUser);
+        UserDto user1 = new UserDto(1L, "Alex", "alex@demo.com");
+        when(userRepository.findUserDtosByIdIn(List.of(1L))).thenReturn(List.of(user1));
+
+        List<UserDto> result = userService.getUsers(Arrays.asList(2L, 1L));
+
+        assertEquals(2, result.size());
+        assertEquals("Mary", result.get(0).getName());
+        assertEquals("Alex", result.get(1).getName());
+        assertNotNull(cacheManager.getCache(UserService.USERS_CACHE).get(1L));
+    }
+
     @Test
     public void testGetUsers_SomeIdsNotFound() {
         List<Long> ids = Arrays.asList(1L, 2L, 3L);
-        User user1 = new User(1L, "Alex", "alex@demo.com", false);
-        User user2 = new User(2L, "Mary", "mary@demo.com", false);
+        UserDto user1 = new UserDto(1L, "Alex", "alex@demo.com");
+        UserDto user2 = new UserDto(2L, "Mary", "mary@demo.com");
 
-        when(userRepository.findUsersByIdInAndArchivedFalse(ids)).thenReturn(Arrays.asList(user1, user2));
+        when(userRepository.findUserDtosByIdIn(ids)).thenReturn(Arrays.asList(user1, user2));
 
         Exception exception = assertThrows(UserNotFoundException.class, () -> userService.getUsers(ids));
-        assertEquals("1 users were not found", exception.getMessage());
+        assertEquals("Users were not found with ids: [3]", exception.getMessage());
+    }
+
+    @Test
+    public void testGetUsers_DuplicateIds() {
+        UserDto user1 = new UserDto(1L, "Alex", "alex@demo.com");
+        UserDto user2 = new UserDto(2L, "Mary", "mary@demo.com");
+        when(userRepository.findUserDtosByIdIn(List.of(2L, 1L))).thenReturn(Arrays.asList(user1, user2));
+
+        List<UserDto> result = userService.getUsers(Arrays.asList(2L, 1L, 2L));
+
+        assertEquals(List.of(2L, 1L), result.stream().map(UserDto::getId).toList());
+    }
+
+    @Test
+    public void testGetUsers_LookedUpInChunks() {
+        applicationProperties.getUserLookup().setChunkSize(2);
+        when(userRepository.findUserDtosByIdIn(anyList())).thenAnswer(invocation -> {
+            List<Long> chunk = invocation.getArgument(0);
+            return chunk.stream().filter(id -> id != 4L).map(id -> new UserDto(id, "User " + id, id + "@demo.com")).toList();
+        });
+
+        List<UserDto> result = userService.getUsers(Arrays.asList(5L, 3L, 1L, 2L, 6L));
+
+        assertEquals(List.of(5L, 3L, 1L, 2L, 6L), result.stream().map(UserDto::getId).toList());
+        verify(userRepository).findUserDtosByIdIn(List.of(5L, 3L));
+        verify(userRepository).findUserDtosByIdIn(List.of(1L, 2L));
+        verify(userRepository).findUserDtosByIdIn(List.of(6L));
+
+        Exception exception = assertThrows(UserNotFoundException.class, () -> userService.getUsers(Arrays.asList(7L, 4L, 1L, 8L)));
+        assertEquals("Users were not found with ids: [4]", exception.getMessage());
     }
 
     @Test
@@ -96,24 +192,110 @@ public class UserServiceUnitTest {
 
     @Test
     public void testAddUser() {
-        UserRegisterDto userRegisterDto = new UserRegisterDto("Alex", "alex@demo.com");
-        User newUser = new User("Alex", "alex@demo.com");
-        when(userRepository.findUserByEmailEqualsIgnoreCaseAndArchivedFalse("alex@demo.com")).thenReturn(null);
-        when(userRepository.save(any(User.class))).thenReturn(newUser);
+        UserRegisterDto userRegisterDto = new UserRegisterDto("Alex", "Alex@Demo.com");
+        User newUser = new User("Alex", "Alex@Demo.com");
+        when(userRepository.existsByActiveEmail("alex@demo.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(newUser);
 
         UserDto result = userService.addUser(userRegisterDto);
 
         assertEquals("Alex", result.getName());
+        verify(emailOutboxService).enqueueWelcomeEmail(result);
+        verify(activeEmailIndex).add("alex@demo.com");
+    }
+
+    @Test
+    public void testAddUser_EmailRuledOutByIndex() {
+        UserRegisterDto userRegisterDto = new UserRegisterDto("Alex", "alex@demo.com");
+        doReturn(false).when(activeEmailIndex).mightContain("alex@demo.com");
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(new User("Alex", "alex@demo.com"));
+
+        userService.addUser(userRegisterDto);
+
+        verify(userRepository, never()).existsByActiveEmail(any());
     }
 
     @Test
     public void testAddUser_DuplicatedEmail() {
         UserRegisterDto userRegisterDto = new UserRegisterDto("Alex", "alex@demo.com");
-        User existingUser = new User("Alex", "alex@demo.com");
-        when(userRepository.findUserByEmailEqualsIgnoreCaseAndArchivedFalse("alex@demo.com")).thenReturn(existingUser);
+        when(userRepository.existsByActiveEmail("alex@demo.com")).thenReturn(true);
 
         Exception exception = assertThrows(DuplicatedEmailException.class, () -> userService.addUser(userRegisterDto));
         assertEquals("User with provided email already exists", exception.getMessage());
+        verify(userRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(emailOutboxService);
+    }
+
+    @Test
+    public void testAddUser_ConcurrentDuplicateRejectedByUniqueIndex() {
+        UserRegisterDto userRegisterDto = new UserRegisterDto("Alex", "alex@demo.com");
+        when(userRepository.existsByActiveEmail("alex@demo.com")).thenReturn(false);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(),
+                        "PUBLIC.UK_USER_DETAIL_ACTIVE_EMAIL_INDEX_A ON PUBLIC.USER_DETAIL(ACTIVE_EMAIL)")));
+
+        Exception exception = assertThrows(DuplicatedEmailException.class, () -> userService.addUser(userRegisterDto));
+        assertEquals("User with provided email already exists", exception.getMessage());
+        verifyNoInteractions(emailOutboxService);
+    }
+
+    @Test
+    public void testAddUsers() {
+        List<UserRegisterDto> users = List.of(new UserRegisterDto("Alex", "alex@demo.com"),
+                new UserRegisterDto("Mary", "mary@demo.com"));
+        when(userRepository.findActiveEmailsByActiveEmailIn(Set.of("alex@demo.com", "mary@demo.com"))).thenReturn(List.of());
+        when(userRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<UserDto> result = userService.addUsers(users);
+
+        assertEquals(2, result.size());
+        assertEquals("Mary", result.get(1).getName());
+        verify(emailOutboxService).enqueueWelcomeEmails(result);
+    }
+
+    @Test
+    public void testAddUsers_OnlyEmailsNotRuledOutByIndexAreQueried() {
+        List<UserRegisterDto> users = List.of(new UserRegisterDto("Alex", "alex@demo.com"),
+                new UserRegisterDto("Mary", "mary@demo.com"));
+        doReturn(false).when(activeEmailIndex).mightContain("alex@demo.com");
+        when(userRepository.findActiveEmailsByActiveEmailIn(Set.of("mary@demo.com"))).thenReturn(List.of());
+        when(userRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.addUsers(users);
+
+        verify(activeEmailIndex).add("alex@demo.com");
+        verify(activeEmailIndex).add("mary@demo.com");
+    }
+
+    @Test
+    public void testAddUsers_DuplicatedEmailInRequest() {
+        List<UserRegisterDto> users = List.of(new UserRegisterDto("Alex", "alex@demo.com"),
+                new UserRegisterDto("Alex", "ALEX@demo.com"));
+
+        Exception exception = assertThrows(DuplicatedEmailException.class, () -> userService.addUsers(users));
+        assertEquals("Provided users contain duplicated emails", exception.getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void testAddUsers_ExistingEmail() {
+        List<UserRegisterDto> users = List.of(new UserRegisterDto("Alex", "alex@demo.com"),
+                new UserRegisterDto("Mary", "mary@demo.com"));
+        when(userRepository.findActiveEmailsByActiveEmailIn(anySet())).thenReturn(List.of("mary@demo.com"));
+
+        Exception exception = assertThrows(DuplicatedEmailException.class, () -> userService.addUsers(users));
+        assertEquals("Users with provided emails already exist: mary@demo.com", exception.getMessage());
+        verify(userRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    public void testAddUsers_EmptyOrTooLargeList() {
+        Exception exception = assertThrows(BadRequestException.class, () -> userService.addUsers(Collections.emptyList()));
+        assertEquals("At least one user must be provided", exception.getMessage());
+
+        List<UserRegisterDto> users = Collections.nCopies(UserService.MAX_BATCH_SIZE + 1, new UserRegisterDto("Alex", "alex@demo.com"));
+        exception = assertThrows(BadRequestException.class, () -> userService.addUsers(users));
+        assertEquals("At most 1000 users can be registered at once", exception.getMessage());
     }
 
     @Test
@@ -134,15 +316,36 @@ public class UserServiceUnitTest {
     public void testUpdateUsers() {
         List<UserUpdateDto> userUpdates =
                 Arrays.asList(new UserUpdateDto(1L, "Alex Updated"), new UserUpdateDto(2L, "Mary Updated"));
-        User user1 = new User(1L, "Alex", "alex@demo.com", false);
-        User user2 = new User(2L, "Mary", "mary@demo.com", false);
-        when(userRepository.findAllById(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(user1, user2));
+        Map<Long, String> namesById = new LinkedHashMap<>();
+        namesById.put(1L, "Alex Updated");
+        namesById.put(2L, "Mary Updated");
+        when(userRepository.updateNames(namesById)).thenReturn(2);
+
+        userService.updateUsers(userUpdates);
+
+        verify(userRepository).updateNames(namesById);
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    public void testUpdateUsers_DuplicateIdsLastWins() {
+        List<UserUpdateDto> userUpdates =
+                Arrays.asList(new UserUpdateDto(1L, "Alex Updated"), new UserUpdateDto(1L, "Alex Final"));
+        when(userRepository.updateNames(Map.of(1L, "Alex Final"))).thenReturn(1);
 
         userService.updateUsers(userUpdates);
 
-        assertEquals("Alex Updated", user1.getName());
-        assertEquals("Mary Updated", user2.getName());
-        verify(userRepository).saveAll(Arrays.asList(user1, user2));
+        verify(userRepository).updateNames(Map.of(1L, "Alex Final"));
+    }
+
+    @Test
+    public void testUpdateUsers_EvictsCachedUsers() {
+        cacheManager.getCache(UserService.USERS_CACHE).put(1L, new UserDto(1L, "Alex", "alex@demo.com"));
+        when(userRepository.updateNames(Map.of(1L, "Alex Updated"))).thenReturn(1);
+
+        userService.updateUsers(List.of(new UserUpdateDto(1L, "Alex Updated")));
+
+        assertNull(cacheManager.getCache(UserService.USERS_CACHE).get(1L));
     }
 
     @Test
@@ -151,12 +354,23 @@ public class UserServiceUnitTest {
         assertEquals("At least one user must be provided", exception.getMessage());
     }
 
+    @Test
+    public void testUpdateUsers_MissingIdOrName() {
+        Exception exception = assertThrows(BadRequestException.class,
+                () -> userService.updateUsers(List.of(new UserUpdateDto(null, "Alex"))));
+        assertEquals("User id must be provided", exception.getMessage());
+
+        exception = assertThrows(BadRequestException.class,
+                () -> userService.updateUsers(List.of(new UserUpdateDto(1L, " "))));
+        assertEquals("Name should have a value", exception.getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     public void testUpdateUsers_SomeUsersNotFound() {
         List<UserUpdateDto> userUpdates = Arrays.asList(new UserUpdateDto(1L, "Alex Updated"),
                 new UserUpdateDto(3L, "Vikas Updated"));
-        User user1 = new User(1L, "Alex", "alex@demo.com", false);
-        when(userRepository.findAllById(Arrays.asList(1L, 3L))).thenReturn(Collections.singletonList(user1));
+        when(userRepository.updateNames(anyMap())).thenReturn(1);
 
         Exception exception = assertThrows(UserNotFoundException.class, () -> userService.updateUsers(userUpdates));
         assertEquals("1 users were not found", exception.getMessage());
@@ -164,18 +378,16 @@ public class UserServiceUnitTest {
 
     @Test
     public void testSoftDeleteUser() {
-        User user = new User(1L, "Alex", "alex@example.com", false);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.archiveUsersByIdIn(List.of(1L))).thenReturn(1);
 
         userService.softDeleteUser(1L);
 
-        assertTrue(user.isArchived());
-        verify(userRepository).save(user);
+        verify(userRepository).archiveUsersByIdIn(List.of(1L));
     }
 
     @Test
     public void testSoftDeleteUser_UserNotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.archiveUsersByIdIn(List.of(1L))).thenReturn(0);
 
         Exception exception = assertThrows(UserNotFoundException.class, () -> userService.softDeleteUser(1L));
         assertEquals("User was not found", exception.getMessage());
@@ -183,16 +395,36 @@ public class UserServiceUnitTest {
 
     @Test
     public void testSoftDeleteUsers() {
-        List<Long> userIds = Arrays.asList(1L, 2L);
-        User user1 = new User(1L, "Alex", "alex@demo.com", false);
-        User user2 = new User(2L, "Mary", "mary@demo.com", false);
-        when(userRepository.findAllById(userIds)).thenReturn(Arrays.asList(user1, user2));
+        List<Long> userIds = Arrays.asList(1L, 2L, 2L);
+        when(userRepository.archiveUsersByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+        userService.softDeleteUsers(userIds);
+
+        verify(userRepository).archiveUsersByIdIn(List.of(1L, 2L));
+        verify(userRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void testSoftDeleteUsers_LargeIdListIsChunked() {
+        List<Long> userIds = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            userIds.add(id);
+        }
+        when(userRepository.archiveUsersByIdIn(anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
 
         userService.softDeleteUsers(userIds);
 
-        assertTrue(user1.isArchived());
-        assertTrue(user2.isArchived());
-        verify(userRepository).saveAll(Arrays.asList(user1, user2));
+        verify(userRepository, times(3)).archiveUsersByIdIn(anyList());
+    }
+
+    @Test
+    public void testSoftDeleteUsers_EvictsCachedUsers() {
+        cacheManager.getCache(UserService.USERS_CACHE).put(1L, new UserDto(1L, "Alex", "alex@demo.com"));
+        when(userRepository.archiveUsersByIdIn(List.of(1L))).thenReturn(1);
+
+        userService.softDeleteUsers(List.of(1L));
+
+        assertNull(cacheManager.getCache(UserService.USERS_CACHE).get(1L));
     }
 
     @Test
@@ -204,9 +436,7 @@ public class UserServiceUnitTest {
     @Test
     public void testSoftDeleteUsers_SomeUsersNotFound() {
         List<Long> userIds = Arrays.asList(1L, 2L, 3L);
-        User user1 = new User(1L, "Alex", "alex@demo.com", false);
-        User user2 = new User(2L, "Mary", "mary@demo.com", false);
-        when(userRepository.findAllById(userIds)).thenReturn(Arrays.asList(user1, user2));
+        when(userRepository.archiveUsersByIdIn(userIds)).thenReturn(2);
 
         Exception exception = assertThrows(UserNotFoundException.class, () -> userService.softDeleteUsers(userIds));
         assertEquals("1 users were not found", exception.getMessage());
@@ -0,0 +1,132 @@
+package com.demo.usermanagementservice.tracing;
+
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:tracing")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class TracingUnitTest {
+
+    private static final BlockingQueue<String> traceparents = new LinkedBlockingQueue<>();
+    private static final HttpServer emailService = startEmailService();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Value("${user-management-service.user-name}")
+    private String username;
+
+    @Value("${user-management-service.password}")
+    private String password;
+
+    @DynamicPropertySource
+    static void emailServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("email.service.url", () -> "http://localhost:" + emailService.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopEmailService() {
+        emailService.stop(0);
+    }
+
+    @Test
+    public void testRegister_QueriesAndEmailServiceCallAreTraced() throws Exception {
+        mockMvc.perform(post("/api/v1/users/register")
+                        .with(httpBasic(username, password))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"full-name\": \"Alex\", \"email\": \"alex@demo.com\"}"))
+                .andExpect(status().isCreated());
+
+        final String traceparent = traceparents.poll(10, TimeUnit.SECONDS);
+        assertNotNull(traceparent, "the outbox dispatcher did not call EmailService");
+
+        final SpanData register = awaitSpan(span -> span.getName().equals("http post /api/v1/users/register"));
+        awaitSpan(span -> span.getName().equals("query") && span.getTraceId().equals(register.getTraceId()));
+        final SpanData emailServiceCall = awaitSpan(span -> span.getKind() == SpanKind.CLIENT
+                && span.getName().equalsIgnoreCase("http post"));
+        assertTrue(traceparent.contains(emailServiceCall.getTraceId() + "-" + emailServiceCall.getSpanId()),
+                "EmailService was called with " + traceparent);
+    }
+
+    private SpanData awaitSpan(Predicate<SpanData> condition) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            tracerProvider.forceFlush().join(1, TimeUnit.SECONDS);
+            final Optional<SpanData> span = spanExporter.getFinishedSpanItems().stream().filter(condition).findFirst();
+            if (span.isPresent()) {
+                return span.get();
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Span was not exported: " + spanExporter.getFinishedSpanItems().stream()
+                .map(SpanData::getName).distinct().toList());
+    }
+
+    private static HttpServer startEmailService() {
+        try {
+            final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+            server.createContext("/api/email/batch/send", exchange -> {
+                traceparents.add(String.valueOf(exchange.getRequestHeaders().getFirst("traceparent")));
+                final byte[] response = "[{\"emailTo\": \"alex@demo.com\", \"status\": \"SENT\"}]".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                exchange.getResponseBody().write(response);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfiguration {
+
+        @Bean
+        public InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+}
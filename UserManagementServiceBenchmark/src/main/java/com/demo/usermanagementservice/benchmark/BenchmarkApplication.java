@@ -0,0 +1,44 @@
+package com.demo.usermanagementservice.benchmark;
+
+import com.demo.usermanagementservice.UserManagementServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Starts UserManagementService on a private in-memory H2 database, without the config server, SQL logging
+ * or outbox polling, so that only the code under measurement touches the database.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(UserManagementServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.cloud.config.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "user-management-service.email-outbox.poll-interval=PT24H")
+                .run(args);
+    }
+
+    /**
+     * Replaces the demo users with {@code rows} active users whose ids run from 1 to {@code rows}.
+     */
+    public static void insertUsers(ConfigurableApplicationContext context, int rows) {
+        final JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("delete from user_detail");
+        jdbcTemplate.update("""
+                insert into user_detail (id, name, email, active_email, archived)
+                select x, 'User ' || x, 'user' || x || '@example.com', 'user' || x || '@example.com', false
+                from system_range(1, ?)""", rows);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.demo.usermanagementservice.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes and reads a {@code List<UserDto>}, including the {@code full-name} property, in each format the API
+ * negotiates: JSON, CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}), with
+ * {@link ObjectMapper}s configured like the ones Spring MVC uses. The payload size of each format, plain and
+ * gzipped, is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDtoSerializationBenchmark {
+
+    private static final TypeReference<List<UserDto>> USER_LIST = new TypeReference<>() {
+    };
+
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<UserDto> users;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        users = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new UserDto(id, "User " + id, "user" + id + "@example.com"))
+                .toList();
+        payload = objectMapper.writeValueAsBytes(users);
+        System.out.printf("%n%s payload of %d users: %d bytes, %d bytes gzipped%n",
+                format, size, payload.length, gzip(payload).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public List<UserDto> deserialize() throws IOException {
+        return objectMapper.readValue(payload, USER_LIST);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.demo.usermanagementservice.service;
+
+import com.demo.usermanagementservice.dto.UserDto;
+import com.demo.usermanagementservice.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Maps a batch of saved entities to {@link UserDto} the way {@link UserService#addUsers} does before returning
+ * them. Reads do not map entities, they query {@link UserDto} projections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    @Param({"100", "1000"})
+    private int batchSize;
+
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        users = LongStream.rangeClosed(1, batchSize)
+                .mapToObj(id -> new User(id, "User " + id, "user" + id + "@example.com", false))
+                .toList();
+    }
+
+    @Benchmark
+    public List<UserDto> toDto() {
+        return users.stream().map(UserService::toDto).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.demo.usermanagementservice.service;
+
+import com.demo.usermanagementservice.benchmark.BenchmarkApplication;
+import com.demo.usermanagementservice.dto.UserDto;
+import com.demo.usermanagementservice.dto.UserUpdateDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Looks up and renames batches of random users in a table of {@code rows} users. With {@code cache=none} every
+ * lookup goes to the database, with {@code cache=caffeine} the users cache is configured as in production.
+ * Tables beyond a million rows need a larger heap, e.g. {@code -p rows=10000000 -jvmArgsAppend -Xmx8g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    private static final int BATCHES = 1024;
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    @Param({"100"})
+    private int batchSize;
+
+    @Param({"none", "caffeine"})
+    private String cache;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private List<List<Long>> idBatches;
+    private int nextBatch;
+    private int nextName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("--spring.cache.type=" + cache);
+        BenchmarkApplication.insertUsers(context, rows);
+        userService = context.getBean(UserService.class);
+
+        final Random random = new Random(42);
+        idBatches = IntStream.range(0, BATCHES)
+                .mapToObj(batch -> random.longs(1, rows + 1L).distinct().limit(batchSize).boxed().toList())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserDto> getUsers() {
+        return userService.getUsers(nextIds());
+    }
+
+    @Benchmark
+    public void updateUsers() {
+        final String name = "Renamed " + nextName++;
+        userService.updateUsers(nextIds().stream()
+                .map(id -> new UserUpdateDto(id, name))
+                .collect(Collectors.toList()));
+    }
+
+    private List<Long> nextIds() {
+        return idBatches.get(nextBatch++ & (BATCHES - 1));
+    }
+
+}
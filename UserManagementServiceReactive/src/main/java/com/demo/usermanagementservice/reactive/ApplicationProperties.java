@@ -0,0 +1,37 @@
+package com.demo.usermanagementservice.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("user-management-service")
+public class ApplicationProperties {
+    private String emailFrom;
+    private String emailServiceAuthHeader;
+    private EmailOutbox emailOutbox = new EmailOutbox();
+    private UserLookup userLookup = new UserLookup();
+
+    @Getter
+    @Setter
+    public static class EmailOutbox {
+        private Duration pollInterval = Duration.ofSeconds(1);
+        private int batchSize = 100;
+        private Duration initialBackoff = Duration.ofSeconds(5);
+        private Duration maxBackoff = Duration.ofMinutes(30);
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class UserLookup {
+        private int chunkSize = 500;
+        private int parallelism = 4;
+    }
+
+}
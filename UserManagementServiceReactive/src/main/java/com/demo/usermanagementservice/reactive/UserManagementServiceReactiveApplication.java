@@ -0,0 +1,17 @@
+package com.demo.usermanagementservice.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+@EnableConfigurationProperties
+public class UserManagementServiceReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(UserManagementServiceReactiveApplication.class, args);
+    }
+
+}
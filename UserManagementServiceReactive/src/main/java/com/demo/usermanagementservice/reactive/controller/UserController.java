@@ -0,0 +1,143 @@
+package com.demo.usermanagementservice.reactive.controller;
+
+import com.demo.usermanagementservice.reactive.dto.UserDto;
+import com.demo.usermanagementservice.reactive.dto.UserRegisterDto;
+import com.demo.usermanagementservice.reactive.dto.UserUpdateDto;
+import com.demo.usermanagementservice.reactive.exception.UserNotFoundException;
+import com.demo.usermanagementservice.reactive.service.UserService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Same contract as the UserController of UserManagementService: paths, status codes, headers and bodies.
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/v1/users")
+public class UserController {
+    private final UserService userService;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<UserDto>>> getAllUsers(@RequestParam(name = "after", defaultValue = "0") long after,
+                                                           @RequestParam(name = "limit", defaultValue = "100") int limit,
+                                                           ServerHttpRequest request) {
+        return userService.getAllUsers(after, limit).map(users -> {
+            final ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(pageETag(users))
+                    .varyBy(HttpHeaders.ACCEPT);
+
+            if (users.size() == limit) {
+                URI next = UriComponentsBuilder.fromUri(request.getURI())
+                        .replaceQueryParam("after", users.get(users.size() - 1).getId())
+                        .replaceQueryParam("limit", limit)
+                        .build()
+                        .toUri();
+                response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response.body(users);
+        });
+    }
+
+    /**
+     * Each user is written as soon as it is read, and rows are only read as fast as the client consumes the
+     * response, so the stream holds no more than a few users in memory however large the table is.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserDto> streamAllUsers() {
+        return userService.streamAllUsers();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<UserDto>> getUser(@NotNull @PathVariable("id") Long id) {
+        return userService.getUser(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with id:" + id)))
+                .map(user -> ResponseEntity.ok()
+                        .eTag(weakETag(Long.toString(user.getVersion())))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(user));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<List<UserDto>> getUsers(@NotNull @RequestBody List<Long> ids) {
+        return userService.getUsers(ids);
+    }
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<Void>> register(@Valid @RequestBody UserRegisterDto user, Locale locale,
+                                               ServerHttpRequest request) {
+        return userService.addUser(user, locale).map(addedUser -> {
+            URI location = UriComponentsBuilder.fromUri(request.getURI())
+                    .path("/{id}")
+                    .buildAndExpand(addedUser.getId())
+                    .toUri();
+            return ResponseEntity.created(location).build();
+        });
+    }
+
+    @PostMapping("/register/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<List<UserDto>> registerAll(@NotNull @RequestBody List<@Valid UserRegisterDto> users, Locale locale) {
+        return userService.addUsers(users, locale);
+    }
+
+    @PatchMapping("/update/single")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> updateUser(@Valid @RequestBody UserUpdateDto user) {
+        return userService.updateUser(user);
+    }
+
+    @PatchMapping("/update/multiple")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> updateUsers(@NotNull @RequestBody List<UserUpdateDto> users) {
+        return userService.updateUsers(users);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteUser(@NotNull @PathVariable("id") Long id) {
+        return userService.softDeleteUser(id);
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteUsers(@NotNull @RequestBody List<Long> ids) {
+        return userService.softDeleteUsers(ids);
+    }
+
+    private String pageETag(List<UserDto> users) {
+        final StringBuilder versions = new StringBuilder(users.size() * 16);
+        users.forEach(user -> versions.append(user.getId()).append(':').append(user.getVersion()).append(','));
+        return weakETag(DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String weakETag(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+}
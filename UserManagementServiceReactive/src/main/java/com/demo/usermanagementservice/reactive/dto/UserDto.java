@@ -0,0 +1,45 @@
+package com.demo.usermanagementservice.reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class UserDto {
+
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @JsonProperty("full-name")
+    @NotBlank(message = "Name should have a value")
+    @Size(max = 250, message = "Name is too long")
+    private String name;
+
+    @NotBlank
+    @Email(message = "Email format is not valid")
+    private String email;
+
+    /**
+     * Version of the user this was read from, sent as the ETag rather than in the body.
+     */
+    @JsonIgnore
+    private long version;
+
+    public UserDto(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
+
+}
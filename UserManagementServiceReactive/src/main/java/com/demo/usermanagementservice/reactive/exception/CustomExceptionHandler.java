@@ -0,0 +1,104 @@
+package com.demo.usermanagementservice.reactive.exception;
+
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+@ControllerAdvice
+public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(Exception.class)
+    public final Mono<ResponseEntity<Object>> handleGeneralException(Exception ex, ServerWebExchange exchange) {
+        final CustomExceptionDetail customExceptionDetail =
+                new CustomExceptionDetail(LocalDateTime.now(),
+                        ex.getMessage(),
+                        description(exchange),
+                        CustomErrorCode.GENERAL.code);
+
+        return Mono.just(ResponseEntity.internalServerError().body(customExceptionDetail));
+    }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public final Mono<ResponseEntity<Object>> handleUserNotFoundException(UserNotFoundException ex, ServerWebExchange exchange) {
+        final CustomExceptionDetail customExceptionDetail =
+                new CustomExceptionDetail(LocalDateTime.now(),
+                        ex.getMessage(),
+                        description(exchange),
+                        CustomErrorCode.USER_NOT_FOUND.code);
+
+        return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(customExceptionDetail));
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public final Mono<ResponseEntity<Object>> handleBadRequestException(BadRequestException ex, ServerWebExchange exchange) {
+        final CustomExceptionDetail customExceptionDetail =
+                new CustomExceptionDetail(LocalDateTime.now(),
+                        ex.getMessage(),
+                        description(exchange),
+                        CustomErrorCode.BAD_REQUEST.code);
+
+        return Mono.just(ResponseEntity.badRequest().body(customExceptionDetail));
+    }
+
+    @ExceptionHandler(DuplicatedEmailException.class)
+    public final Mono<ResponseEntity<Object>> handleDuplicatedEmailException(DuplicatedEmailException ex, ServerWebExchange exchange) {
+        final CustomExceptionDetail customExceptionDetail =
+                new CustomExceptionDetail(LocalDateTime.now(),
+                        ex.getMessage(),
+                        description(exchange),
+                        CustomErrorCode.USER_ALREADY_EXIST.code);
+
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(customExceptionDetail));
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException ex, HttpHeaders headers, HttpStatusCode status, ServerWebExchange exchange) {
+
+        final StringBuilder errorMessage = new StringBuilder("Errors: ");
+        ex.getFieldErrors().forEach(fieldError -> errorMessage.append(fieldError.getDefaultMessage()).append(", "));
+
+        final CustomExceptionDetail customExceptionDetail =
+                new CustomExceptionDetail(LocalDateTime.now(),
+                        errorMessage.substring(0, errorMessage.lastIndexOf(",")),
+                        description(exchange),
+                        CustomErrorCode.BAD_REQUEST.code);
+
+        return Mono.just(ResponseEntity.badRequest().body(customExceptionDetail));
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Object>> handleHandlerMethodValidationException(HandlerMethodValidationException ex, HttpHeaders headers, HttpStatusCode status, ServerWebExchange exchange) {
+
+        final String errorMessage = ex.getAllErrors().stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .distinct()
+                .collect(Collectors.joining(", ", "Errors: ", ""));
+
+        final CustomExceptionDetail customExceptionDetail =
+                new CustomExceptionDetail(LocalDateTime.now(),
+                        errorMessage,
+                        description(exchange),
+                        CustomErrorCode.BAD_REQUEST.code);
+
+        return Mono.just(ResponseEntity.badRequest().body(customExceptionDetail));
+    }
+
+    /**
+     * Same format as {@code WebRequest.getDescription(false)} in UserManagementService.
+     */
+    private String description(ServerWebExchange exchange) {
+        return "uri=" + exchange.getRequest().getPath().value();
+    }
+}
@@ -0,0 +1,8 @@
+package com.demo.usermanagementservice.reactive.exception;
+
+public class DuplicatedEmailException extends RuntimeException {
+
+    public DuplicatedEmailException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,56 @@
+package com.demo.usermanagementservice.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("email_outbox")
+public class OutboxEmail {
+    public static final String ID_SEQUENCE = "email_outbox_seq";
+
+    /**
+     * Must match the increment of email_outbox_seq, which is set by the migrations.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    private Long id;
+
+    @Column("email_from")
+    private String emailFrom;
+
+    @Column("email_to")
+    private String emailTo;
+
+    @Column("subject")
+    private String subject;
+
+    @Column("text")
+    private String text;
+
+    @Column("attempts")
+    private int attempts;
+
+    @Column("next_attempt_at")
+    private Instant nextAttemptAt;
+
+    public OutboxEmail(Long id, String emailFrom, String emailTo, String subject, String text, Instant nextAttemptAt) {
+        this.id = id;
+        this.emailFrom = emailFrom;
+        this.emailTo = emailTo;
+        this.subject = subject;
+        this.text = text;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+}
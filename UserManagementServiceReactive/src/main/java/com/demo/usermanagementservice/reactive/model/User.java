@@ -0,0 +1,63 @@
+package com.demo.usermanagementservice.reactive.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.Locale;
+
+/**
+ * Row of {@code user_detail}. Users are inserted with an id from {@code user_detail_seq} and only changed
+ * through the update statements of {@link com.demo.usermanagementservice.reactive.repository.UserRepository},
+ * which also increment {@code version}.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@Table("user_detail")
+public class User {
+    public static final String ID_SEQUENCE = "user_detail_seq";
+    public static final String ACTIVE_EMAIL_INDEX = "uk_user_detail_active_email";
+
+    /**
+     * Must match the increment of user_detail_seq, which is set by the migrations.
+     */
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    @Id
+    private Long id;
+
+    @Column("name")
+    private String name;
+
+    @Column("email")
+    private String email;
+
+    @Column("archived")
+    private boolean archived;
+
+    /**
+     * Normalized email while the user is active, null once archived. Backed by a unique index, so an
+     * email can belong to only one active user.
+     */
+    @Column("active_email")
+    private String activeEmail;
+
+    @Column("version")
+    private long version;
+
+    public User(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.activeEmail = normalizeEmail(email);
+    }
+
+    public static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+}
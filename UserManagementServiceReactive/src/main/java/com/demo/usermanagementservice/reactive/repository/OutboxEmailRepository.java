@@ -0,0 +1,18 @@
+package com.demo.usermanagementservice.reactive.repository;
+
+import com.demo.usermanagementservice.reactive.model.OutboxEmail;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+@Repository
+public interface OutboxEmailRepository extends R2dbcRepository<OutboxEmail, Long> {
+
+    @Query("select * from email_outbox where next_attempt_at <= :now order by id limit :limit")
+    Flux<OutboxEmail> findDueOutboxEmails(@Param("now") Instant now, @Param("limit") int limit);
+
+}
@@ -0,0 +1,74 @@
+package com.demo.usermanagementservice.reactive.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Hands out ids from a database sequence the way Hibernate's pooled optimizer does in UserManagementService:
+ * one sequence call reserves the {@code allocationSize} ids up to and including the returned value, which are
+ * then handed out from memory. Both variants can therefore insert into the same tables.
+ */
+public class SequenceIdAllocator {
+
+    private final DatabaseClient databaseClient;
+    private final String nextValueQuery;
+    private final int allocationSize;
+    private long next;
+    private long last = -1;
+
+    public SequenceIdAllocator(DatabaseClient databaseClient, ConnectionFactory connectionFactory, String sequence,
+                               int allocationSize) {
+        this.databaseClient = databaseClient;
+        this.nextValueQuery = connectionFactory.getMetadata().getName().toLowerCase(Locale.ROOT).contains("postgres")
+                ? "select nextval('" + sequence + "')"
+                : "select next value for " + sequence;
+        this.allocationSize = allocationSize;
+    }
+
+    public Mono<Long> nextId() {
+        return nextIds(1).single();
+    }
+
+    /**
+     * Takes {@code count} ids, calling the sequence once per block the current block cannot cover.
+     */
+    public Flux<Long> nextIds(int count) {
+        return Flux.defer(() -> {
+            final List<Long> ids = new ArrayList<>(count);
+            final int missing = takeFromBlock(ids, count);
+            if (missing == 0) {
+                return Flux.fromIterable(ids);
+            }
+
+            return Flux.concat(Flux.fromIterable(ids), databaseClient.sql(nextValueQuery)
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .flatMapMany(hiValue -> {
+                        startBlock(hiValue);
+                        return nextIds(missing);
+                    }));
+        });
+    }
+
+    private synchronized int takeFromBlock(List<Long> ids, int count) {
+        while (ids.size() < count && next <= last) {
+            ids.add(next++);
+        }
+        return count - ids.size();
+    }
+
+    /**
+     * Ids left in the current block, if another caller started it concurrently, are skipped.
+     */
+    private synchronized void startBlock(long hiValue) {
+        next = Math.max(1, hiValue - allocationSize + 1);
+        last = hiValue;
+    }
+
+}
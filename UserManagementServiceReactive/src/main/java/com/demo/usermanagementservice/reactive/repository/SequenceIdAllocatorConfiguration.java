@@ -0,0 +1,24 @@
+package com.demo.usermanagementservice.reactive.repository;
+
+import com.demo.usermanagementservice.reactive.model.OutboxEmail;
+import com.demo.usermanagementservice.reactive.model.User;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+public class SequenceIdAllocatorConfiguration {
+
+    @Bean
+    public SequenceIdAllocator userIdAllocator(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        return new SequenceIdAllocator(databaseClient, connectionFactory, User.ID_SEQUENCE, User.ID_ALLOCATION_SIZE);
+    }
+
+    @Bean
+    public SequenceIdAllocator outboxEmailIdAllocator(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        return new SequenceIdAllocator(databaseClient, connectionFactory, OutboxEmail.ID_SEQUENCE,
+                OutboxEmail.ID_ALLOCATION_SIZE);
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.demo.usermanagementservice.reactive.repository;
+
+import com.demo.usermanagementservice.reactive.dto.UserDto;
+import com.demo.usermanagementservice.reactive.model.User;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface UserRepository extends R2dbcRepository<User, Long>, UserRepositoryCustom {
+
+    /**
+     * Selects active users straight into {@link UserDto}, like the JPQL projections of UserManagementService.
+     */
+    String SELECT_USER_DTO = "select id, name, email, version from user_detail where archived = false ";
+
+    @Query(SELECT_USER_DTO + "and id > :after order by id limit :limit")
+    Flux<UserDto> findUserDtosByIdGreaterThan(@Param("after") long after, @Param("limit") int limit);
+
+    @Query(SELECT_USER_DTO + "and id = :id")
+    Mono<UserDto> findUserDtoById(@Param("id") Long id);
+
+    @Query(SELECT_USER_DTO + "and id in (:ids)")
+    Flux<UserDto> findUserDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Rows are emitted as the subscriber requests them, so a slow reader of the stream holds back the query
+     * instead of buffering the table.
+     */
+    @Query(SELECT_USER_DTO + "order by id")
+    Flux<UserDto> streamUserDtos();
+
+    Mono<Boolean> existsByActiveEmail(String activeEmail);
+
+    @Query("select active_email from user_detail where active_email in (:activeEmails)")
+    Flux<String> findActiveEmailsByActiveEmailIn(@Param("activeEmails") Collection<String> activeEmails);
+
+    @Modifying
+    @Query("update user_detail set archived = true, active_email = null, version = version + 1 where id in (:ids)")
+    Mono<Integer> archiveUsersByIdIn(@Param("ids") Collection<Long> ids);
+
+}
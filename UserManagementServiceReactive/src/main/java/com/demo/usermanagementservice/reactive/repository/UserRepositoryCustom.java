@@ -0,0 +1,16 @@
+package com.demo.usermanagementservice.reactive.repository;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Renames the users in one batch of update statements.
+     *
+     * @return number of updated users
+     */
+    Mono<Integer> updateNames(Map<Long, String> namesById);
+
+}
@@ -0,0 +1,37 @@
+package com.demo.usermanagementservice.reactive.repository;
+
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.Map;
+
+@AllArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Integer> updateNames(Map<Long, String> namesById) {
+        return databaseClient.inConnectionMany(connection -> {
+                    final Statement statement = connection.createStatement(
+                            "update user_detail set name = $1, version = version + 1 where id = $2");
+                    final Iterator<Map.Entry<Long, String>> entries = namesById.entrySet().iterator();
+                    while (entries.hasNext()) {
+                        final Map.Entry<Long, String> entry = entries.next();
+                        statement.bind(0, entry.getValue()).bind(1, entry.getKey());
+                        if (entries.hasNext()) {
+                            statement.add();
+                        }
+                    }
+                    return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+                })
+                .reduce(0L, Long::sum)
+                .map(Long::intValue);
+    }
+
+}
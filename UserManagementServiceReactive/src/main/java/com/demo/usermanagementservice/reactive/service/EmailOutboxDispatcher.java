@@ -0,0 +1,88 @@
+package com.demo.usermanagementservice.reactive.service;
+
+import com.demo.usermanagementservice.reactive.ApplicationProperties;
+import com.demo.usermanagementservice.reactive.dto.EmailDto;
+import com.demo.usermanagementservice.reactive.dto.EmailStatusDto;
+import com.demo.usermanagementservice.reactive.model.OutboxEmail;
+import com.demo.usermanagementservice.reactive.repository.OutboxEmailRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the email outbox in batches, each delivered with a single call to EmailService. A delivered
+ * email is removed from the outbox; a failed one stays and is retried with exponential backoff, capped at
+ * the configured maximum, so no email is dropped. The next poll starts once the previous one has completed,
+ * so batches never overlap.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailServiceClient emailServiceClient;
+    private final ApplicationProperties applicationProperties;
+
+    /**
+     * The scheduler calls this once and subscribes to the returned {@link Mono} on every poll, so the due time is
+     * only taken on subscription.
+     */
+    @Scheduled(fixedDelayString = "${user-management-service.email-outbox.poll-interval:PT1S}")
+    public Mono<Void> dispatch() {
+        return Mono.defer(() -> outboxEmailRepository.findDueOutboxEmails(Instant.now(),
+                        applicationProperties.getEmailOutbox().getBatchSize())
+                .collectList()
+                .filter(emails -> !emails.isEmpty())
+                .flatMap(this::send));
+    }
+
+    private Mono<Void> send(List<OutboxEmail> emails) {
+        return emailServiceClient.sendTextEmails(emails.stream().map(this::toDto).toList())
+                .onErrorResume(exception -> {
+                    log.warn("Batch of {} emails could not be delivered", emails.size(), exception);
+                    return reschedule(emails).then(Mono.empty());
+                })
+                .flatMap(statuses -> {
+                    final List<OutboxEmail> sent = new ArrayList<>();
+                    final List<OutboxEmail> failed = new ArrayList<>();
+                    for (int i = 0; i < emails.size(); i++) {
+                        final boolean delivered = i < statuses.size() && statuses.get(i).getStatus() == EmailStatusDto.Status.SENT;
+                        (delivered ? sent : failed).add(emails.get(i));
+                    }
+                    return outboxEmailRepository.deleteAll(sent).then(reschedule(failed));
+                });
+    }
+
+    private Mono<Void> reschedule(List<OutboxEmail> emails) {
+        if (emails.isEmpty()) {
+            return Mono.empty();
+        }
+
+        emails.forEach(email -> {
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(Instant.now().plus(backoff(email.getAttempts())));
+            log.warn("Email to {} could not be delivered (attempt {}), retrying at {}",
+                    email.getEmailTo(), email.getAttempts(), email.getNextAttemptAt());
+        });
+        return outboxEmailRepository.saveAll(emails).then();
+    }
+
+    Duration backoff(int attempts) {
+        final ApplicationProperties.EmailOutbox config = applicationProperties.getEmailOutbox();
+        final Duration delay = config.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(config.getMaxBackoff()) > 0 ? config.getMaxBackoff() : delay;
+    }
+
+    private EmailDto toDto(OutboxEmail email) {
+        return new EmailDto(email.getEmailFrom(), email.getEmailTo(), email.getSubject(), email.getText());
+    }
+
+}
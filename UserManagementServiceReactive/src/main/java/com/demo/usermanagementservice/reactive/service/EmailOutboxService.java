@@ -0,0 +1,50 @@
+package com.demo.usermanagementservice.reactive.service;
+
+import com.demo.usermanagementservice.reactive.ApplicationProperties;
+import com.demo.usermanagementservice.reactive.dto.UserDto;
+import com.demo.usermanagementservice.reactive.model.OutboxEmail;
+import com.demo.usermanagementservice.reactive.repository.SequenceIdAllocator;
+import lombok.AllArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes outgoing emails to the outbox table. Enqueuing must join the caller's transaction, so an email
+ * is stored if and only if the change that triggered it is committed. {@link EmailOutboxDispatcher}
+ * delivers the stored emails in the background.
+ */
+@Service
+@AllArgsConstructor
+public class EmailOutboxService {
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final SequenceIdAllocator outboxEmailIdAllocator;
+    private final MessageSource messageSource;
+    private final ApplicationProperties applicationProperties;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Mono<Void> enqueueWelcomeEmails(List<UserDto> users, Locale locale) {
+        final Instant now = Instant.now();
+        return outboxEmailIdAllocator.nextIds(users.size())
+                .zipWithIterable(users, (id, user) -> toWelcomeEmail(id, user, locale, now))
+                .concatMap(r2dbcEntityTemplate::insert)
+                .then();
+    }
+
+    private OutboxEmail toWelcomeEmail(Long id, UserDto user, Locale locale, Instant now) {
+        return new OutboxEmail(id,
+                applicationProperties.getEmailFrom(),
+                user.getEmail(),
+                messageSource.getMessage("email.welcome.subject", null, locale),
+                messageSource.getMessage("email.welcome.message", new String[]{user.getName()}, locale),
+                now);
+    }
+
+}
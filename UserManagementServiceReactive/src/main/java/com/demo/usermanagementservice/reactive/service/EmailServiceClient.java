@@ -0,0 +1,41 @@
+package com.demo.usermanagementservice.reactive.service;
+
+import com.demo.usermanagementservice.reactive.ApplicationProperties;
+import com.demo.usermanagementservice.reactive.dto.EmailDto;
+import com.demo.usermanagementservice.reactive.dto.EmailStatusDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the Feign {@code EmailServiceApi}. The builder is the one Spring Boot configures, so
+ * calls share the Reactor Netty connection pool and are timed as {@code http.client.requests}.
+ */
+@Component
+public class EmailServiceClient {
+
+    private final WebClient webClient;
+    private final ApplicationProperties applicationProperties;
+
+    public EmailServiceClient(WebClient.Builder webClientBuilder, @Value("${email.service.url}") String emailServiceUrl,
+                              ApplicationProperties applicationProperties) {
+        this.webClient = webClientBuilder.baseUrl(emailServiceUrl).build();
+        this.applicationProperties = applicationProperties;
+    }
+
+    public Mono<List<EmailStatusDto>> sendTextEmails(List<EmailDto> emails) {
+        return webClient.post()
+                .uri("/api/email/batch/send")
+                .header(HttpHeaders.AUTHORIZATION, applicationProperties.getEmailServiceAuthHeader())
+                .bodyValue(emails)
+                .retrieve()
+                .bodyToFlux(EmailStatusDto.class)
+                .collectList()
+                .timeout(applicationProperties.getEmailOutbox().getTimeout());
+    }
+
+}
@@ -0,0 +1,245 @@
+package com.demo.usermanagementservice.reactive.service;
+
+import com.demo.usermanagementservice.reactive.ApplicationProperties;
+import com.demo.usermanagementservice.reactive.dto.UserDto;
+import com.demo.usermanagementservice.reactive.dto.UserRegisterDto;
+import com.demo.usermanagementservice.reactive.dto.UserUpdateDto;
+import com.demo.usermanagementservice.reactive.exception.BadRequestException;
+import com.demo.usermanagementservice.reactive.exception.DuplicatedEmailException;
+import com.demo.usermanagementservice.reactive.exception.UserNotFoundException;
+import com.demo.usermanagementservice.reactive.model.User;
+import com.demo.usermanagementservice.reactive.repository.SequenceIdAllocator;
+import com.demo.usermanagementservice.reactive.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive counterpart of UserService in UserManagementService, with the same validation, messages and
+ * queries. Nothing here blocks: every method returns a publisher that runs its statements when subscribed.
+ * There is no users cache, so lookups always go to the database.
+ */
+@Service
+@AllArgsConstructor
+public class UserService {
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 1000;
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final SequenceIdAllocator userIdAllocator;
+    private final EmailOutboxService emailOutboxService;
+    private final ApplicationProperties applicationProperties;
+
+    /**
+     * Returns at most {@code limit} active users whose id is greater than {@code after}, ordered by id.
+     * The id of the last returned user is the cursor for the next page.
+     */
+    public Mono<List<UserDto>> getAllUsers(long after, int limit) {
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+
+        return userRepository.findUserDtosByIdGreaterThan(after, limit).collectList();
+    }
+
+    /**
+     * Emits every active user in id order, as fast as the subscriber requests them.
+     */
+    public Flux<UserDto> streamAllUsers() {
+        return userRepository.streamUserDtos();
+    }
+
+    public Mono<UserDto> getUser(Long id) {
+        return userRepository.findUserDtoById(id);
+    }
+
+    /**
+     * Returns the active users with the given ids, each once, in the order their ids first appear. The ids
+     * are queried in chunks of {@code user-lookup.chunk-size}, at most {@code user-lookup.parallelism} at a time.
+     */
+    public Mono<List<UserDto>> getUsers(List<Long> ids) {
+
+        if (CollectionUtils.isEmpty(ids)) {
+            return Mono.error(new BadRequestException("At least one id should be provided"));
+        }
+
+        final List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        final ApplicationProperties.UserLookup config = applicationProperties.getUserLookup();
+        return Flux.fromIterable(chunks(distinctIds, config.getChunkSize()))
+                .flatMapSequential(userRepository::findUserDtosByIdIn, config.getParallelism())
+                .collectMap(UserDto::getId, Function.identity())
+                .flatMap(users -> {
+                    if (users.size() != distinctIds.size()) {
+                        final List<Long> missingIds = distinctIds.stream().filter(id -> !users.containsKey(id)).toList();
+                        return Mono.error(new UserNotFoundException("Users were not found with ids: " + missingIds));
+                    }
+                    return Mono.just(distinctIds.stream().map(users::get).collect(Collectors.toList()));
+                });
+    }
+
+    /**
+     * Stores the new user and queues its welcome email in the same transaction. The unique index rejects a
+     * concurrent registration of the same email that slips past the existence check.
+     */
+    @Transactional
+    public Mono<UserDto> addUser(UserRegisterDto user, Locale locale) {
+
+        return userRepository.existsByActiveEmail(User.normalizeEmail(user.getEmail()))
+                .flatMap(exists -> exists
+                        ? Mono.error(new DuplicatedEmailException("User with provided email already exists"))
+                        : userIdAllocator.nextId())
+                .flatMap(id -> insert(new User(id, user.getName(), user.getEmail())))
+                .map(this::toDto)
+                .flatMap(addedUser -> emailOutboxService.enqueueWelcomeEmails(List.of(addedUser), locale)
+                        .thenReturn(addedUser));
+    }
+
+    /**
+     * Stores up to {@value #MAX_BATCH_SIZE} new users and queues their welcome emails in one transaction.
+     * Existing emails are looked up with a single query.
+     */
+    @Transactional
+    public Mono<List<UserDto>> addUsers(List<UserRegisterDto> users, Locale locale) {
+
+        if (CollectionUtils.isEmpty(users)) {
+            return Mono.error(new BadRequestException("At least one user must be provided"));
+        }
+
+        if (users.size() > MAX_BATCH_SIZE) {
+            return Mono.error(new BadRequestException("At most " + MAX_BATCH_SIZE + " users can be registered at once"));
+        }
+
+        final Set<String> emails = new HashSet<>();
+        if (!users.stream().map(user -> User.normalizeEmail(user.getEmail())).allMatch(emails::add)) {
+            return Mono.error(new DuplicatedEmailException("Provided users contain duplicated emails"));
+        }
+
+        return userRepository.findActiveEmailsByActiveEmailIn(emails)
+                .collectList()
+                .flatMap(existingEmails -> existingEmails.isEmpty()
+                        ? Mono.just(users)
+                        : Mono.error(new DuplicatedEmailException("Users with provided emails already exist: " + String.join(", ", existingEmails))))
+                .flatMapMany(newUsers -> userIdAllocator.nextIds(newUsers.size())
+                        .zipWithIterable(newUsers, (id, user) -> new User(id, user.getName(), user.getEmail())))
+                .concatMap(this::insert)
+                .map(this::toDto)
+                .collectList()
+                .flatMap(addedUsers -> emailOutboxService.enqueueWelcomeEmails(addedUsers, locale)
+                        .thenReturn(addedUsers));
+    }
+
+    public Mono<Void> updateUser(UserUpdateDto user) {
+        return userRepository.updateNames(Map.of(user.getId(), user.getName()))
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new UserNotFoundException("User was not found"))
+                        : Mono.empty());
+    }
+
+    /**
+     * Renames the given users in one batch of statements. If any id does not exist, nothing is updated.
+     */
+    @Transactional
+    public Mono<Void> updateUsers(List<UserUpdateDto> users) {
+
+        if (CollectionUtils.isEmpty(users)) {
+            return Mono.error(new BadRequestException("At least one user must be provided"));
+        }
+
+        if (users.stream().anyMatch(user -> user.getId() == null)) {
+            return Mono.error(new BadRequestException("User id must be provided"));
+        }
+
+        if (users.stream().anyMatch(user -> !StringUtils.hasText(user.getName()))) {
+            return Mono.error(new BadRequestException("Name should have a value"));
+        }
+
+        final Map<Long, String> namesById = users.stream().collect(Collectors.toMap(
+                UserUpdateDto::getId, UserUpdateDto::getName, (first, last) -> last, LinkedHashMap::new));
+        return userRepository.updateNames(namesById)
+                .flatMap(updated -> updated != namesById.size()
+                        ? Mono.error(new UserNotFoundException(namesById.size() - updated + " users were not found"))
+                        : Mono.empty());
+    }
+
+    @Transactional
+    public Mono<Void> softDeleteUser(Long id) {
+
+        if (id == null) {
+            return Mono.error(new BadRequestException("User id must be provided"));
+        }
+
+        return userRepository.archiveUsersByIdIn(List.of(id))
+                .flatMap(archived -> archived == 0
+                        ? Mono.error(new UserNotFoundException("User was not found"))
+                        : Mono.empty());
+    }
+
+    /**
+     * Archives the given users with one update statement per chunk of {@value #DELETE_CHUNK_SIZE} ids.
+     * If any id does not exist, nothing is archived.
+     */
+    @Transactional
+    public Mono<Void> softDeleteUsers(List<Long> userIds) {
+
+        if (CollectionUtils.isEmpty(userIds)) {
+            return Mono.error(new BadRequestException("At least one user id must be provided"));
+        }
+
+        final List<Long> distinctIds = userIds.stream().distinct().toList();
+        return Flux.fromIterable(chunks(distinctIds, DELETE_CHUNK_SIZE))
+                .concatMap(userRepository::archiveUsersByIdIn)
+                .reduce(0, Integer::sum)
+                .flatMap(archived -> archived != distinctIds.size()
+                        ? Mono.error(new UserNotFoundException(distinctIds.size() - archived + " users were not found"))
+                        : Mono.empty());
+    }
+
+    private Mono<User> insert(User user) {
+        return r2dbcEntityTemplate.insert(user)
+                .onErrorMap(this::isActiveEmailViolation,
+                        exception -> new DuplicatedEmailException("User with provided email already exists"));
+    }
+
+    private boolean isActiveEmailViolation(Throwable exception) {
+        return exception instanceof DataIntegrityViolationException
+                && exception.getMessage() != null
+                && exception.getMessage().toLowerCase(Locale.ROOT).contains(User.ACTIVE_EMAIL_INDEX);
+    }
+
+    private static <T> List<List<T>> chunks(List<T> list, int chunkSize) {
+        final List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            chunks.add(list.subList(from, Math.min(from + chunkSize, list.size())));
+        }
+        return chunks;
+    }
+
+    UserDto toDto(User entity) {
+        return new UserDto(
+                entity.getId(),
+                entity.getName(),
+                entity.getEmail(),
+                entity.getVersion());
+    }
+
+}
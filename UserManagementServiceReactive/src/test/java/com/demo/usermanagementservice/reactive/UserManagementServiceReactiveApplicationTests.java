@@ -0,0 +1,15 @@
+package com.demo.usermanagementservice.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserManagementServiceReactiveApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+
+}
@@ -0,0 +1,219 @@
+package com.demo.usermanagementservice.reactive.controller;
+
+import com.demo.usermanagementservice.reactive.dto.UserDto;
+import com.demo.usermanagementservice.reactive.dto.UserRegisterDto;
+import com.demo.usermanagementservice.reactive.dto.UserUpdateDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the API against the database migrated by Flyway, which holds the demo users 1001 to 1003. Tests that
+ * change users work on users they register themselves.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class UserControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Value("${user-management-service.user-name}")
+    private String username;
+
+    @Value("${user-management-service.password}")
+    private String password;
+
+    @BeforeEach
+    public void setUp() {
+        webTestClient = webTestClient.mutate()
+                .defaultHeaders(headers -> headers.setBasicAuth(username, password))
+                .build();
+    }
+
+    @Test
+    public void testGetAllUsers_NextPageLink() {
+        webTestClient.get().uri("/api/v1/users?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches("Link", "<http://localhost:\\d+/api/v1/users\\?after=1002&limit=2>; rel=\"next\"")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].full-name").isEqualTo("Jo")
+                .jsonPath("$[1].full-name").isEqualTo("Far");
+    }
+
+    @Test
+    public void testGetAllUsers_NotModified() {
+        String eTag = webTestClient.get().uri("/api/v1/users?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+        assertNotNull(eTag);
+
+        webTestClient.get().uri("/api/v1/users?limit=2")
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    public void testStreamAllUsers() {
+        webTestClient.get().uri("/api/v1/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(body -> assertTrue(body.startsWith("{\"id\":1001,\"email\":\"jo@demo.com\",\"full-name\":\"Jo\"}\n"
+                        + "{\"id\":1002,\"email\":\"far@demo.com\",\"full-name\":\"Far\"}\n"), body));
+    }
+
+    @Test
+    public void testGetUser() {
+        webTestClient.get().uri("/api/v1/users/1001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "W/\"0\"")
+                .expectBody()
+                .jsonPath("$.full-name").isEqualTo("Jo")
+                .jsonPath("$.email").isEqualTo("jo@demo.com");
+    }
+
+    @Test
+    public void testGetUser_NotFound() {
+        webTestClient.get().uri("/api/v1/users/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("User not found with id:1")
+                .jsonPath("$.requestURI").isEqualTo("uri=/api/v1/users/1")
+                .jsonPath("$.errorCode").isEqualTo("404_UNF");
+    }
+
+    @Test
+    public void testGetUsers_SomeIdsNotFound() {
+        webTestClient.post().uri("/api/v1/users")
+                .bodyValue(List.of(1001L, 1L, 1003L, 2L))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Users were not found with ids: [1, 2]");
+    }
+
+    @Test
+    public void testGetUsers() {
+        webTestClient.post().uri("/api/v1/users")
+                .bodyValue(List.of(1003L, 1001L, 1003L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(1003)
+                .jsonPath("$[1].id").isEqualTo(1001);
+    }
+
+    @Test
+    public void testRegister() {
+        URI location = webTestClient.post().uri("/api/v1/users/register")
+                .bodyValue(new UserRegisterDto("Alex", "Alex@Register.com"))
+                .exchange()
+                .expectStatus().isCreated()
+                .returnResult(Void.class)
+                .getResponseHeaders().getLocation();
+        assertNotNull(location);
+
+        assertTrue(location.getPath().startsWith("/api/v1/users/register/"), location.toString());
+        String id = location.getPath().substring(location.getPath().lastIndexOf('/') + 1);
+
+        webTestClient.get().uri("/api/v1/users/" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.full-name").isEqualTo("Alex");
+
+        webTestClient.post().uri("/api/v1/users/register")
+                .bodyValue(new UserRegisterDto("Alex", "alex@register.com"))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("User with provided email already exists");
+    }
+
+    @Test
+    public void testRegister_InvalidUser() {
+        webTestClient.post().uri("/api/v1/users/register")
+                .bodyValue(new UserRegisterDto("", "invalid"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("400");
+    }
+
+    @Test
+    public void testRegisterAll_UpdateAndDelete() {
+        List<UserDto> users = webTestClient.post().uri("/api/v1/users/register/batch")
+                .bodyValue(List.of(new UserRegisterDto("Mary", "mary@batch.com"), new UserRegisterDto("John", "john@batch.com")))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBodyList(UserDto.class)
+                .hasSize(2)
+                .returnResult().getResponseBody();
+        assertNotNull(users);
+        List<Long> ids = users.stream().map(UserDto::getId).toList();
+
+        webTestClient.post().uri("/api/v1/users/register/batch")
+                .bodyValue(List.of(new UserRegisterDto("Mary", "MARY@batch.com")))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Users with provided emails already exist: mary@batch.com");
+
+        webTestClient.patch().uri("/api/v1/users/update/multiple")
+                .bodyValue(List.of(new UserUpdateDto(ids.get(0), "Mary Updated"), new UserUpdateDto(ids.get(1), "John Updated")))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/v1/users/" + ids.get(0))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "W/\"1\"")
+                .expectBody()
+                .jsonPath("$.full-name").isEqualTo("Mary Updated");
+
+        webTestClient.method(HttpMethod.DELETE).uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ids)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/v1/users/" + ids.get(1))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testUpdateUsers_UserNotFound() {
+        webTestClient.patch().uri("/api/v1/users/update/multiple")
+                .bodyValue(List.of(new UserUpdateDto(1001L, "Jo"), new UserUpdateDto(1L, "Nobody")))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("1 users were not found");
+    }
+
+}
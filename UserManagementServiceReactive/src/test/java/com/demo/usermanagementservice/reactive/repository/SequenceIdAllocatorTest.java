@@ -0,0 +1,43 @@
+package com.demo.usermanagementservice.reactive.repository;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SequenceIdAllocatorTest {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Test
+    public void testNextIds_UniqueAcrossBlocks() {
+        databaseClient.sql("create sequence test_seq start with 1000 increment by 10").then().block();
+        SequenceIdAllocator allocator = new SequenceIdAllocator(databaseClient, connectionFactory, "test_seq", 10);
+
+        List<Long> first = allocator.nextIds(15).collectList().block();
+        List<Long> second = allocator.nextIds(3).collectList().block();
+
+        assertEquals(15, first.size());
+        assertEquals(991L, first.get(0));
+        assertEquals(1005L, first.get(14));
+        assertEquals(List.of(1006L, 1007L, 1008L), second);
+        assertEquals(18, new HashSet<>(Stream.concat(first.stream(), second.stream()).toList()).size());
+        assertTrue(first.stream().allMatch(id -> id > 990 && id <= 1010));
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.demo.usermanagementservice.reactive.service;
+
+import com.demo.usermanagementservice.reactive.ApplicationProperties;
+import com.demo.usermanagementservice.reactive.dto.EmailStatusDto;
+import com.demo.usermanagementservice.reactive.model.OutboxEmail;
+import com.demo.usermanagementservice.reactive.repository.OutboxEmailRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxDispatcherUnitTest {
+
+    @Mock
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Mock
+    private EmailServiceClient emailServiceClient;
+
+    @Spy
+    private ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    @InjectMocks
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Test
+    public void testDispatch_NothingDue() {
+        when(outboxEmailRepository.findDueOutboxEmails(any(Instant.class), eq(100))).thenReturn(Flux.empty());
+
+        emailOutboxDispatcher.dispatch().block();
+
+        verifyNoInteractions(emailServiceClient);
+    }
+
+    @Test
+    public void testDispatch_DueTimeIsTakenOnEachSubscription() throws InterruptedException {
+        when(outboxEmailRepository.findDueOutboxEmails(any(Instant.class), anyInt())).thenReturn(Flux.empty());
+        Mono<Void> dispatch = emailOutboxDispatcher.dispatch();
+        Instant before = Instant.now();
+        Thread.sleep(5);
+
+        dispatch.block();
+
+        verify(outboxEmailRepository).findDueOutboxEmails(argThat(now -> now.isAfter(before)), eq(100));
+    }
+
+    @Test
+    public void testDispatch_DeliveredEmailsAreRemovedAndFailedRescheduled() {
+        Instant before = Instant.now();
+        OutboxEmail delivered = new OutboxEmail(1L, "from@demo.com", "alex@demo.com", "Welcome", "Hi", before);
+        OutboxEmail failed = new OutboxEmail(2L, "from@demo.com", "mary@demo.com", "Welcome", "Hi", before);
+        when(outboxEmailRepository.findDueOutboxEmails(any(Instant.class), anyInt())).thenReturn(Flux.just(delivered, failed));
+        when(emailServiceClient.sendTextEmails(anyList())).thenReturn(Mono.just(List.of(
+                new EmailStatusDto("alex@demo.com", EmailStatusDto.Status.SENT, null),
+                new EmailStatusDto("mary@demo.com", EmailStatusDto.Status.FAILED, "Mailbox unavailable"))));
+        when(outboxEmailRepository.deleteAll(List.of(delivered))).thenReturn(Mono.empty());
+        when(outboxEmailRepository.saveAll(List.of(failed))).thenReturn(Flux.just(failed));
+
+        emailOutboxDispatcher.dispatch().block();
+
+        assertEquals(0, delivered.getAttempts());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getNextAttemptAt().isAfter(before.plusSeconds(4)));
+    }
+
+    @Test
+    public void testDispatch_UnreachableEmailServiceReschedulesBatch() {
+        OutboxEmail email = new OutboxEmail(1L, "from@demo.com", "alex@demo.com", "Welcome", "Hi", Instant.now());
+        when(outboxEmailRepository.findDueOutboxEmails(any(Instant.class), anyInt())).thenReturn(Flux.just(email));
+        when(emailServiceClient.sendTextEmails(anyList())).thenReturn(Mono.error(new RuntimeException("Email service unavailable")));
+        when(outboxEmailRepository.saveAll(List.of(email))).thenReturn(Flux.just(email));
+
+        emailOutboxDispatcher.dispatch().block();
+
+        assertEquals(1, email.getAttempts());
+        verify(outboxEmailRepository, never()).deleteAll(any(Iterable.class));
+    }
+
+    @Test
+    public void testBackoff() {
+        assertEquals(Duration.ofSeconds(5), emailOutboxDispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(20), emailOutboxDispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(30), emailOutboxDispatcher.backoff(50));
+    }
+}
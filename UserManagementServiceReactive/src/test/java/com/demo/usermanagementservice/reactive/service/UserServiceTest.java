@@ -0,0 +1,29 @@
+package com.demo.usermanagementservice.reactive.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    public void testStreamAllUsers_EmitsOnlyRequestedUsers() {
+        StepVerifier.create(userService.streamAllUsers(), 1)
+                .expectNextMatches(user -> user.getId() == 1001L)
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenRequest(1)
+                .expectNextMatches(user -> user.getId() == 1002L)
+                .thenCancel()
+                .verify();
+    }
+
+}